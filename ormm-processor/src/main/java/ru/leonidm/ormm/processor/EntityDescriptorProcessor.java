@@ -0,0 +1,386 @@
+package ru.leonidm.ormm.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates {@code EntityDescriptor} for every {@code @Table} class, so ORMM can create entities, read annotations
+ * of their columns and access them without reflection and boxing. Descriptors are registered as {@link java.util.ServiceLoader} services.
+ * Entities with private columns or constructor are skipped and still accessed via reflection
+ */
+@SupportedAnnotationTypes(EntityDescriptorProcessor.TABLE)
+public final class EntityDescriptorProcessor extends AbstractProcessor {
+
+    static final String TABLE = "ru.leonidm.ormm.annotations.Table";
+    static final String COLUMN = "ru.leonidm.ormm.annotations.Column";
+    static final String PRIMARY_KEY = "ru.leonidm.ormm.annotations.PrimaryKey";
+    static final String FOREIGN_KEY = "ru.leonidm.ormm.annotations.ForeignKey";
+    static final String DESCRIPTOR = "ru.leonidm.ormm.orm.descriptors.EntityDescriptor";
+    static final String SUFFIX = "_OrmmDescriptor";
+
+    private static final List<TypeKind> PRIMITIVES = List.of(TypeKind.BOOLEAN, TypeKind.BYTE, TypeKind.CHAR,
+            TypeKind.SHORT, TypeKind.INT, TypeKind.LONG, TypeKind.FLOAT, TypeKind.DOUBLE);
+
+    private final Set<String> descriptors = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServices();
+            return false;
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (TypeElement entity : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                try {
+                    generate(entity);
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Can't generate entity descriptor: " + e.getMessage(), entity);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void generate(TypeElement entity) throws IOException {
+        String reason = checkEntity(entity);
+        if (reason != null) {
+            skip(entity, reason);
+            return;
+        }
+
+        PackageElement entityPackage = processingEnv.getElementUtils().getPackageOf(entity);
+
+        List<VariableElement> fields = new ArrayList<>();
+        List<TypeElement> classes = new ArrayList<>();
+
+        TypeElement superClass = entity;
+        while (superClass != null && !superClass.getQualifiedName().contentEquals("java.lang.Object")) {
+            classes.add(0, superClass);
+            superClass = superClass.getSuperclass() instanceof DeclaredType declaredType
+                    ? (TypeElement) declaredType.asElement() : null;
+        }
+
+        Set<String> names = new HashSet<>();
+        for (TypeElement type : classes) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (getAnnotation(field, COLUMN) == null) {
+                    continue;
+                }
+
+                reason = checkField(entityPackage, type, field);
+                if (reason != null) {
+                    skip(entity, "field \"" + field.getSimpleName() + "\" " + reason);
+                    return;
+                }
+
+                if (!names.add(field.getSimpleName().toString())) {
+                    skip(entity, "field \"" + field.getSimpleName() + "\" is hidden by another column");
+                    return;
+                }
+
+                fields.add(field);
+            }
+        }
+
+        String packageName = entityPackage.isUnnamed() ? "" : entityPackage.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        String entityName = entity.getQualifiedName().toString();
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, entity);
+        try (Writer writer = file.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+            writer.write("public final class " + simpleName + " implements " + DESCRIPTOR + "<" + entityName + "> {\n\n");
+
+            writer.write("    private static final java.util.List<String> FIELD_NAMES = java.util.List.of(");
+            for (int i = 0; i < fields.size(); i++) {
+                writer.write((i == 0 ? "" : ", ") + "\"" + fields.get(i).getSimpleName() + "\"");
+            }
+            writer.write(");\n\n");
+
+            writer.write("    private static final java.util.List<Class<?>> FIELD_CLASSES = java.util.List.of(");
+            for (int i = 0; i < fields.size(); i++) {
+                writer.write((i == 0 ? "" : ", ") + erasure(fields.get(i)) + ".class");
+            }
+            writer.write(");\n\n");
+
+            writeAnnotations(writer, fields, COLUMN, "COLUMNS");
+            writeAnnotations(writer, fields, PRIMARY_KEY, "PRIMARY_KEYS");
+            writeAnnotations(writer, fields, FOREIGN_KEY, "FOREIGN_KEYS");
+
+            writer.write("    @Override\n");
+            writer.write("    public Class<" + entityName + "> getEntityClass() {\n");
+            writer.write("        return " + entityName + ".class;\n");
+            writer.write("    }\n\n");
+
+            writer.write("    @Override\n");
+            writer.write("    public " + entityName + " newInstance() {\n");
+            writer.write("        return new " + entityName + "();\n");
+            writer.write("    }\n\n");
+
+            writer.write("    @Override\n");
+            writer.write("    public java.util.List<String> getFieldNames() {\n");
+            writer.write("        return FIELD_NAMES;\n");
+            writer.write("    }\n\n");
+
+            writer.write("    @Override\n");
+            writer.write("    public java.util.List<Class<?>> getFieldClasses() {\n");
+            writer.write("        return FIELD_CLASSES;\n");
+            writer.write("    }\n\n");
+
+            writer.write("    @Override\n");
+            writer.write("    public " + COLUMN + " getColumn(int field) {\n");
+            writer.write("        return COLUMNS[field];\n");
+            writer.write("    }\n\n");
+
+            writer.write("    @Override\n");
+            writer.write("    public " + PRIMARY_KEY + " getPrimaryKey(int field) {\n");
+            writer.write("        return PRIMARY_KEYS[field];\n");
+            writer.write("    }\n\n");
+
+            writer.write("    @Override\n");
+            writer.write("    public " + FOREIGN_KEY + " getForeignKey(int field) {\n");
+            writer.write("        return FOREIGN_KEYS[field];\n");
+            writer.write("    }\n\n");
+
+            writeAccessors(writer, entityName, fields, null);
+            for (TypeKind kind : PRIMITIVES) {
+                writeAccessors(writer, entityName, fields, kind);
+            }
+
+            writer.write("}\n");
+        }
+
+        descriptors.add(qualifiedName);
+    }
+
+    /**
+     * Writes array of the annotations of the fields, null if field isn't annotated
+     */
+    private void writeAnnotations(Writer writer, List<VariableElement> fields, String annotation,
+                                  String arrayName) throws IOException {
+        writer.write("    private static final " + annotation + "[] " + arrayName + " = {\n");
+        for (VariableElement field : fields) {
+            AnnotationMirror mirror = getAnnotation(field, annotation);
+            if (mirror == null) {
+                writer.write("            null,\n");
+                continue;
+            }
+
+            writer.write("            new " + annotation + "() {\n");
+            writer.write("                @Override\n");
+            writer.write("                public Class<? extends java.lang.annotation.Annotation> annotationType() {\n");
+            writer.write("                    return " + annotation + ".class;\n");
+            writer.write("                }\n");
+
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                    processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+                ExecutableElement method = entry.getKey();
+                writer.write("\n");
+                writer.write("                @Override\n");
+                writer.write("                public " + method.getReturnType() + " " + method.getSimpleName() + "() {\n");
+                writer.write("                    return " + entry.getValue() + ";\n");
+                writer.write("                }\n");
+            }
+
+            writer.write("            },\n");
+        }
+        writer.write("    };\n\n");
+    }
+
+    /**
+     * Writes getter and setter of the fields of given primitive kind, or untyped ones for all fields if kind is null
+     */
+    private void writeAccessors(Writer writer, String entityName, List<VariableElement> fields,
+                                TypeKind kind) throws IOException {
+        String type = kind == null ? "Object" : kind.name().toLowerCase();
+        String suffix = kind == null ? "" : Character.toUpperCase(type.charAt(0)) + type.substring(1);
+        String error = kind == null ? "new IndexOutOfBoundsException(field)"
+                : "new IllegalArgumentException(\"Field #\" + field + \" isn't " + type + "\")";
+
+        writer.write("    @Override\n");
+        writer.write("    public " + type + " get" + suffix + "(" + entityName + " object, int field) {\n");
+        writer.write("        switch (field) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            if (kind == null || field.asType().getKind() == kind) {
+                writer.write("            case " + i + ": return object." + field.getSimpleName() + ";\n");
+            }
+        }
+        writer.write("            default: throw " + error + ";\n");
+        writer.write("        }\n");
+        writer.write("    }\n\n");
+
+        writer.write("    @Override\n");
+        writer.write("    public void set" + suffix + "(" + entityName + " object, int field, " + type + " value) {\n");
+        writer.write("        switch (field) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            if (kind == null) {
+                writer.write("            case " + i + ": object." + field.getSimpleName() + " = (" + erasure(field) + ") value; return;\n");
+            } else if (field.asType().getKind() == kind) {
+                writer.write("            case " + i + ": object." + field.getSimpleName() + " = value; return;\n");
+            }
+        }
+        writer.write("            default: throw " + error + ";\n");
+        writer.write("        }\n");
+        writer.write("    }\n\n");
+    }
+
+    private TypeMirror erasure(VariableElement field) {
+        return processingEnv.getTypeUtils().erasure(field.asType());
+    }
+
+    private String checkEntity(TypeElement entity) {
+        if (entity.getKind() != ElementKind.CLASS || entity.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "isn't a concrete class";
+        }
+
+        if (!isAccessible(entity)) {
+            return "isn't accessible from its package";
+        }
+
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(entity.getEnclosedElements());
+        boolean hasEmptyConstructor = constructors.stream().anyMatch(constructor -> constructor.getParameters().isEmpty()
+                && !constructor.getModifiers().contains(Modifier.PRIVATE));
+        if (!hasEmptyConstructor) {
+            return "doesn't have non-private empty constructor";
+        }
+
+        return null;
+    }
+
+    private String checkField(PackageElement entityPackage, TypeElement declaringType, VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+            return "is static or final";
+        }
+
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return "is private";
+        }
+
+        boolean samePackage = processingEnv.getElementUtils().getPackageOf(declaringType).equals(entityPackage);
+        if (!samePackage && !modifiers.contains(Modifier.PUBLIC)) {
+            return "isn't accessible from the entity's package";
+        }
+
+        if (!isAccessible(erasure(field))) {
+            return "has inaccessible class";
+        }
+
+        return null;
+    }
+
+    private boolean isAccessible(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) type).getComponentType());
+        }
+
+        if (type instanceof DeclaredType declaredType) {
+            return isAccessible(declaredType.asElement());
+        }
+
+        return false;
+    }
+
+    private boolean isAccessible(Element element) {
+        while (element instanceof TypeElement) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+
+            Element enclosing = element.getEnclosingElement();
+            if (enclosing instanceof TypeElement && !modifiers.contains(Modifier.STATIC)
+                    && element.getKind() == ElementKind.CLASS) {
+                return false;
+            }
+
+            element = enclosing;
+        }
+
+        return true;
+    }
+
+    private AnnotationMirror getAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+
+        return null;
+    }
+
+    private void skip(TypeElement entity, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "Entity descriptor of " + entity.getQualifiedName() + " isn't generated: " + reason, entity);
+    }
+
+    private void writeServices() {
+        if (descriptors.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + DESCRIPTOR);
+            try (Writer writer = file.openWriter()) {
+                for (String descriptor : descriptors.stream().sorted().toList()) {
+                    writer.write(descriptor + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Can't register entity descriptors: " + e.getMessage());
+        }
+    }
+}
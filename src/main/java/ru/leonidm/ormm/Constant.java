@@ -5,6 +5,14 @@ public final class Constant {
     public static final int ORMM_THREAD_POOL = 1;
     public static final int ORMM_CONNECTION_POOL = 1;
     public static final int ORMM_CONNECTION_POOL_TIMEOUT = 30000;
+    public static final int ORMM_STATEMENT_CACHE_SIZE = 64;
+    public static final int ORMM_BATCH_SIZE = 500;
+    public static final int ORMM_FETCH_SIZE = 1000;
+    public static final int ORMM_WRITE_BEHIND_INTERVAL = 1000;
+    public static final int ORMM_WRITE_BEHIND_SIZE = 1000;
+    public static final int ORMM_GROUP_COMMIT_SIZE = 256;
+    public static final int ORMM_RESULT_CACHE_SIZE = 1000;
+    public static final int ORMM_TASK_QUEUE_SIZE = 0;
 
     private Constant() {
     }
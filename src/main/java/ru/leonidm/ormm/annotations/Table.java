@@ -11,8 +11,25 @@ public @interface Table {
 
     String value() default "";
 
-    int cacheSize() default 1000;
+    /**
+     * Maximum size of the entity cache by primary key, see {@link ru.leonidm.ormm.orm.ORMTable#getCache()}.
+     * Cached objects are shared between the queries and changes made bypassing ORMM aren't seen by the cache,
+     * so it is disabled by default
+     */
+    int cacheSize() default 0;
+
+    /**
+     * Time to live of the cached results of the table's select queries in milliseconds,
+     * see {@link ru.leonidm.ormm.orm.queries.select.AbstractSelectQuery#cached(java.time.Duration)}.
+     * Zero disables the cache
+     */
+    long resultCacheMillis() default 0;
 
     boolean allowUnsafeOperations() default false;
 
+    /**
+     * Enables write-behind buffer of the table, see {@link ru.leonidm.ormm.orm.ORMTable#updateLater(Object)}
+     */
+    boolean writeBehind() default false;
+
 }
@@ -6,10 +6,13 @@ import ru.leonidm.commons.text.TextCase;
 import ru.leonidm.ormm.annotations.Column;
 import ru.leonidm.ormm.annotations.ForeignKey;
 import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.orm.accessors.FieldAccessor;
+import ru.leonidm.ormm.orm.descriptors.EntityDescriptor;
+import ru.leonidm.ormm.orm.references.Ref;
 import ru.leonidm.ormm.orm.clauses.Where;
 import ru.leonidm.ormm.orm.general.SQLType;
 import ru.leonidm.ormm.orm.resolvers.CannotResolveException;
-import ru.leonidm.ormm.orm.resolvers.ORMResolverRegistry;
+import ru.leonidm.ormm.orm.resolvers.ResolverBinding;
 import ru.leonidm.ormm.utils.ClassUtils;
 import ru.leonidm.ormm.utils.QueryUtils;
 
@@ -18,6 +21,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 public final class ORMColumn<T, F> {
 
@@ -27,14 +31,17 @@ public final class ORMColumn<T, F> {
     private final ORMColumnMeta meta;
     private final ORMColumn<?, ?> joinColumn;
     private final SQLType sqlType;
-    private final Field field;
+    private final FieldAccessor accessor;
     private final Class<F> fieldClass;
     private final Class<?> databaseClass;
+    private final boolean primitiveReads;
+    private final ResolverBinding fromDatabaseResolver;
+    private final ResolverBinding toDatabaseResolver;
 
     private ORMColumn(@NotNull ORMTable<T> table, @NotNull String name,
                       @NotNull ORMColumnMeta meta, @Nullable ORMColumn<?, ?> joinColumn,
-                      @NotNull Field field, @NotNull Class<F> fieldClass,
-                      @NotNull Class<?> databaseClass) {
+                      @NotNull FieldAccessor accessor,
+                      @NotNull Class<F> fieldClass, @NotNull Class<?> databaseClass) {
 
         if (meta.foreignKey() == (joinColumn == null)) {
             throw new IllegalArgumentException("ForeignKey and JoinColumn must be both null or not null");
@@ -46,9 +53,13 @@ public final class ORMColumn<T, F> {
         this.name = name;
         this.meta = meta;
         this.joinColumn = joinColumn;
-        this.field = field;
+        this.accessor = accessor;
         this.fieldClass = fieldClass;
         this.databaseClass = databaseClass;
+        this.primitiveReads = !meta.foreignKey() && fieldClass.isPrimitive() && fieldClass != char.class
+                && ClassUtils.areTheSame(fieldClass, databaseClass);
+        this.fromDatabaseResolver = ResolverBinding.fromDatabase(this);
+        this.toDatabaseResolver = ResolverBinding.toDatabase(this);
         this.sqlType = SQLType.of(this);
         if (this.sqlType == null) {
             throw new IllegalArgumentException("%s Can't get SQL type of this column".formatted(getIdentifier()));
@@ -56,17 +67,31 @@ public final class ORMColumn<T, F> {
     }
 
     @NotNull
-    @SuppressWarnings("java:S3011")
     public static <T> ORMColumn<T, ?> of(@NotNull ORMTable<T> table, @NotNull Field field) {
-        // Подавление варнинга из-за рефлексии
-        field.setAccessible(true);
-
         Column column = field.getAnnotation(Column.class);
         if (column == null) {
             throw new IllegalArgumentException("Can't register field without @Column annotation as the column");
         }
 
-        Class<?> fieldClass = field.getType();
+        return of(table, field.getName(), field.getType(), column, field.getAnnotation(PrimaryKey.class),
+                field.getAnnotation(ForeignKey.class), () -> FieldAccessor.of(field));
+    }
+
+    /**
+     * @return column of the descriptor's field, its annotations and field are accessed without reflection
+     */
+    @NotNull
+    public static <T> ORMColumn<T, ?> of(@NotNull ORMTable<T> table, @NotNull EntityDescriptor<T> descriptor, int field) {
+        return of(table, descriptor.getFieldNames().get(field), descriptor.getFieldClasses().get(field),
+                descriptor.getColumn(field), descriptor.getPrimaryKey(field), descriptor.getForeignKey(field),
+                () -> FieldAccessor.of(descriptor, field));
+    }
+
+    @NotNull
+    private static <T> ORMColumn<T, ?> of(@NotNull ORMTable<T> table, @NotNull String fieldName,
+                                          @NotNull Class<?> fieldClass, @NotNull Column column,
+                                          @Nullable PrimaryKey primaryKey, @Nullable ForeignKey foreignKey,
+                                          @NotNull Supplier<FieldAccessor> accessorSupplier) {
         Class<?> databaseClass;
         if (column.databaseClass() == Void.class) {
             if (Enum.class.isAssignableFrom(fieldClass) || fieldClass == UUID.class) {
@@ -82,7 +107,7 @@ public final class ORMColumn<T, F> {
 
         String name;
         if (column.name().isBlank()) {
-            String finalName = field.getName();
+            String finalName = fieldName;
 
             TextCase textCase = TextCase.from(finalName);
             if (textCase != null) {
@@ -94,9 +119,6 @@ public final class ORMColumn<T, F> {
             name = column.name().toLowerCase();
         }
 
-        PrimaryKey primaryKey = field.getAnnotation(PrimaryKey.class);
-        ForeignKey foreignKey = field.getAnnotation(ForeignKey.class);
-
         if (primaryKey != null) {
             if (foreignKey != null) {
                 throw new IllegalArgumentException("%s Column can't be foreign and primary key at the same time"
@@ -140,6 +162,10 @@ public final class ORMColumn<T, F> {
                         .formatted(getColumnIdentifier(table, name), foreignKey.key(), foreignKey.table()));
             }
 
+            if (fieldClass == Ref.class && column.databaseClass() == Void.class) {
+                databaseClass = joinColumn.databaseClass;
+            }
+
             if (!ClassUtils.areTheSame(databaseClass, joinColumn.fieldClass)) {
                 throw new IllegalArgumentException("%s Database class must be the same as the foreign column's class \"%s\""
                         .formatted(getColumnIdentifier(table, name), joinColumn.fieldClass));
@@ -148,7 +174,7 @@ public final class ORMColumn<T, F> {
             joinColumn = null;
         }
 
-        return new ORMColumn<>(table, name, meta, joinColumn, field, fieldClass, databaseClass);
+        return new ORMColumn<>(table, name, meta, joinColumn, accessorSupplier.get(), fieldClass, databaseClass);
     }
 
     @NotNull
@@ -171,6 +197,21 @@ public final class ORMColumn<T, F> {
         return meta;
     }
 
+    /**
+     * @return true if this column is foreign key with {@link Ref} field, which is loaded on demand
+     */
+    public boolean isLazyReference() {
+        return meta.foreignKey() && fieldClass == Ref.class;
+    }
+
+    /**
+     * @return referenced key column if this column is foreign key, otherwise null
+     */
+    @Nullable
+    public ORMColumn<?, ?> getJoinColumn() {
+        return joinColumn;
+    }
+
     @NotNull
     public SQLType getSQLType() {
         return sqlType;
@@ -192,7 +233,7 @@ public final class ORMColumn<T, F> {
 
         if (!fieldClass.isAssignableFrom(object.getClass())) {
             try {
-                object = ORMResolverRegistry.resolveFromDatabase(this, object);
+                object = fromDatabaseResolver.resolve(object);
             } catch (CannotResolveException e) {
                 throw new IllegalStateException(e);
             }
@@ -201,17 +242,21 @@ public final class ORMColumn<T, F> {
         return fieldClass.cast(object);
     }
 
+    /**
+     * @return accessor of the column's field, which can read and write primitive fields without boxing
+     */
+    @NotNull
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
     @Nullable
     public F getValue(@NotNull Object object) {
-        if (!object.getClass().equals(table.getEntityClass())) {
-            throw new IllegalArgumentException("Wrong object \"%s\" provided! It's class must be \"%s\""
-                    .formatted(object, table.getEntityClass()));
-        }
-
         try {
-            return (F) field.get(object);
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException(e);
+            return (F) accessor.get(object);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException("Wrong object \"%s\" provided! It's class must be \"%s\""
+                    .formatted(object, table.getEntityClass()), e);
         }
     }
 
@@ -220,40 +265,33 @@ public final class ORMColumn<T, F> {
         return getColumnIdentifier(table, name);
     }
 
-    @SuppressWarnings("java:S3011")
     public void setValue(@NotNull T t, @Nullable Object object) {
-        try {
-            Class<?> objectClass = object != null ? object.getClass() : null;
-
-            // Подавление многочисленных варнингов на рефлексию
-            if (fieldClass == boolean.class && (objectClass == null || objectClass == Boolean.class)) {
-                field.setBoolean(t, (boolean) (object != null ? object : false));
-            } else if (fieldClass == byte.class && (objectClass == null || objectClass == Byte.class)) {
-                field.setByte(t, (byte) (object != null ? object : (byte) 0));
-            } else if (fieldClass == char.class && (objectClass == null || objectClass == Character.class)) {
-                field.setChar(t, (char) (object != null ? object : (char) 0));
-            } else if (fieldClass == short.class && (objectClass == null || objectClass == Short.class)) {
-                field.setShort(t, (short) (object != null ? object : (short) 0));
-            } else if (fieldClass == int.class && (objectClass == null || objectClass == Integer.class)) {
-                field.setInt(t, (int) (object != null ? object : 0));
-            } else if (fieldClass == long.class && (objectClass == null || objectClass == Long.class
-                    || objectClass == Integer.class)) {
-                field.setLong(t, (long) (object != null ? object : 0L));
-            } else if (fieldClass == float.class && (objectClass == null || objectClass == Float.class)) {
-                field.setFloat(t, (float) (object != null ? object : 0F));
-            } else if (fieldClass == double.class && (objectClass == null || objectClass == Double.class
-                    || objectClass == Float.class)) {
-                field.setDouble(t, (double) (object != null ? object : 0D));
-            } else {
-                if (objectClass != null && !fieldClass.isAssignableFrom(objectClass)) {
-                    throw new IllegalArgumentException("Given object \"%s\" has wrong class \"%s\" (must be %s)"
-                            .formatted(object, objectClass, fieldClass));
-                }
+        accessor.set(t, object);
+    }
 
-                field.set(t, object);
-            }
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException(e);
+    /**
+     * Reads the column from the result set and writes it to the field. Primitive columns are read without
+     * boxing, NULL is read by the driver as the default value that is also written for null objects
+     */
+    public void setValue(@NotNull T t, @NotNull ResultSet resultSet, int position) throws SQLException {
+        if (!primitiveReads) {
+            accessor.set(t, toFieldObject(resultSet.getObject(position)));
+        } else if (fieldClass == int.class) {
+            accessor.setInt(t, resultSet.getInt(position));
+        } else if (fieldClass == long.class) {
+            accessor.setLong(t, resultSet.getLong(position));
+        } else if (fieldClass == double.class) {
+            accessor.setDouble(t, resultSet.getDouble(position));
+        } else if (fieldClass == boolean.class) {
+            accessor.setBoolean(t, resultSet.getBoolean(position));
+        } else if (fieldClass == float.class) {
+            accessor.setFloat(t, resultSet.getFloat(position));
+        } else if (fieldClass == short.class) {
+            accessor.setShort(t, resultSet.getShort(position));
+        } else if (fieldClass == byte.class) {
+            accessor.setByte(t, resultSet.getByte(position));
+        } else {
+            throw new IllegalStateException("%s Unknown primitive class %s".formatted(getIdentifier(), fieldClass));
         }
     }
 
@@ -264,6 +302,10 @@ public final class ORMColumn<T, F> {
         }
 
         if (meta.foreignKey()) {
+            if (object instanceof Ref<?> ref) {
+                return ref.getKey();
+            }
+
             return joinColumn.getValue(object);
         }
 
@@ -281,7 +323,7 @@ public final class ORMColumn<T, F> {
         }
 
         try {
-            return ORMResolverRegistry.resolveToDatabase(this, object);
+            return toDatabaseResolver.resolve(object);
         } catch (CannotResolveException e) {
             throw new IllegalArgumentException(getIdentifier() +
                     " Object \"%s\" can't be converted to the database format".formatted(object), e);
@@ -299,6 +341,17 @@ public final class ORMColumn<T, F> {
                 return object;
             }
 
+            if (isLazyReference()) {
+                if (joinColumn.table.getEntityClass().isInstance(object)) {
+                    return Ref.of((ORMTable<Object>) joinColumn.table, object);
+                }
+
+                if (ClassUtils.areTheSame(joinColumn.databaseClass, object.getClass())) {
+                    Object key = joinColumn.toFieldObject(object);
+                    return key != null ? Ref.ofKey(joinColumn.table, key) : null;
+                }
+            }
+
             if (ClassUtils.areTheSame(joinColumn.databaseClass, object.getClass())) {
                 return joinColumn.table.selectQuery()
                         .where(Where.compare(joinColumn.name, "=", object))
@@ -339,7 +392,7 @@ public final class ORMColumn<T, F> {
         }
 
         try {
-            return ORMResolverRegistry.resolveFromDatabase(this, object);
+            return fromDatabaseResolver.resolve(object);
         } catch (Exception e) {
             throw new IllegalArgumentException(getIdentifier() +
                     " Object \"%s\" can't be converted from the database format".formatted(object), e);
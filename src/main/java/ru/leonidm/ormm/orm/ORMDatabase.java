@@ -4,8 +4,11 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ru.leonidm.commons.collections.Pair;
 import ru.leonidm.ormm.annotations.CompositeIndex;
+import ru.leonidm.ormm.orm.cache.EntityCache;
+import ru.leonidm.ormm.orm.cache.ResultCache;
 import ru.leonidm.ormm.orm.connection.ConnectionFactory;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
+import ru.leonidm.ormm.orm.connection.StatementCacheStats;
 import ru.leonidm.ormm.orm.general.ColumnData;
 import ru.leonidm.ormm.orm.general.SQLType;
 import ru.leonidm.ormm.orm.queries.CreateTableQuery;
@@ -14,22 +17,39 @@ import ru.leonidm.ormm.orm.queries.columns.AddColumnsQuery;
 import ru.leonidm.ormm.orm.queries.columns.DropColumnsQuery;
 import ru.leonidm.ormm.orm.queries.columns.SelectColumnsQuery;
 import ru.leonidm.ormm.orm.queries.indexes.CreateIndexesQuery;
+import ru.leonidm.ormm.orm.queries.insert.BatchInsertQuery;
 import ru.leonidm.ormm.orm.queries.insert.InsertObjectQuery;
 import ru.leonidm.ormm.orm.queries.insert.InsertQuery;
 import ru.leonidm.ormm.orm.queries.select.SelectQuery;
+import ru.leonidm.ormm.orm.queries.update.BatchUpdateQuery;
 import ru.leonidm.ormm.orm.queries.update.UpdateObjectQuery;
 import ru.leonidm.ormm.orm.queries.update.UpdateQuery;
+import ru.leonidm.ormm.orm.thread.GroupCommitWriter;
+import ru.leonidm.ormm.orm.thread.KeyOrderedExecutor;
+import ru.leonidm.ormm.orm.thread.ORMPriority;
+import ru.leonidm.ormm.orm.thread.BoundedExecutor;
+import ru.leonidm.ormm.orm.thread.PriorityExecutor;
+import ru.leonidm.ormm.orm.thread.TaskQueue;
+import ru.leonidm.ormm.orm.thread.SingleFlight;
+import ru.leonidm.ormm.orm.thread.WriteBehindBuffer;
+import ru.leonidm.ormm.orm.thread.WriteBehindFlusher;
 import ru.leonidm.ormm.utils.QueryUtils;
 
+import java.lang.reflect.Method;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public final class ORMDatabase {
@@ -40,7 +60,16 @@ public final class ORMDatabase {
     private final int ormSettingsHash;
     private final Map<String, ORMTable<?>> tablesByName = new HashMap<>();
     private final Map<Class<?>, ORMTable<?>> tablesByClass = new HashMap<>();
-    private final Executor executor;
+    private final ExecutorService executor;
+    private final Executor taskExecutor;
+    private final PriorityExecutor priorityExecutor;
+    private final KeyOrderedExecutor orderedExecutor;
+    private final TaskQueue taskQueue;
+    private final GroupCommitWriter groupCommitWriter;
+    private final ResultCache resultCache;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private WriteBehindFlusher writeBehindFlusher;
+    private final ThreadLocal<ORMTransaction> currentTransaction = new ThreadLocal<>();
 
     public ORMDatabase(@NotNull ORMDriver driver, @NotNull ORMSettings ormSettings) {
         this.driver = driver;
@@ -50,7 +79,51 @@ public final class ORMDatabase {
         this.ormSettings = ormSettings;
         this.ormSettingsHash = Objects.hash(ormSettings.getHost(), ormSettings.getPort(), ormSettings.getDatabaseName(),
                 ormSettings.getUser());
-        this.executor = Executors.newFixedThreadPool(ormSettings.getThreadPoolSize());
+        ExecutorService virtualExecutor = ormSettings.isVirtualThreads() ? createVirtualExecutor() : null;
+        int parallelism;
+        if (virtualExecutor != null) {
+            // Tasks wait for a free connection here instead of failing by timeout of the connection pool
+            this.executor = virtualExecutor;
+            this.taskExecutor = new BoundedExecutor(virtualExecutor, ormSettings.getConnectionPoolSize());
+            parallelism = ormSettings.getConnectionPoolSize();
+        } else {
+            this.executor = Executors.newFixedThreadPool(ormSettings.getThreadPoolSize());
+            this.taskExecutor = executor;
+            parallelism = ormSettings.getThreadPoolSize();
+        }
+
+        if (ormSettings.isPriorityLanes()) {
+            this.priorityExecutor = new PriorityExecutor(taskExecutor, parallelism);
+        } else {
+            this.priorityExecutor = null;
+        }
+
+        this.orderedExecutor = new KeyOrderedExecutor(getTaskExecutor());
+        this.taskQueue = new TaskQueue(ormSettings.getTaskQueueSize(), ormSettings.getTaskQueuePolicy());
+
+        if (driver == ORMDriver.SQLITE && ormSettings.isGroupCommit()) {
+            this.groupCommitWriter = new GroupCommitWriter(this, ormSettings.getGroupCommitSize());
+        } else {
+            this.groupCommitWriter = null;
+        }
+
+        this.resultCache = new ResultCache(ormSettings.getResultCacheSize());
+    }
+
+    /**
+     * @return virtual thread per task executor or null if virtual threads aren't supported by the JVM
+     */
+    @Nullable
+    private static ExecutorService createVirtualExecutor() {
+        try {
+            // ORMM is compiled for Java 17, while virtual threads are available since Java 21
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // TODO: normal logger
+            System.err.println("[ORMM] Virtual threads aren't supported by the JVM, fixed thread pool is used");
+            return null;
+        }
     }
 
     @NotNull
@@ -63,6 +136,100 @@ public final class ORMDatabase {
         return connectionFactory.getConnection();
     }
 
+    /**
+     * @return transaction that is running in the current thread or null if there is none
+     */
+    @Nullable
+    public ORMTransaction getCurrentTransaction() {
+        return currentTransaction.get();
+    }
+
+    /**
+     * Runs given supplier in the current thread with the transaction bound to it, so queries that are built
+     * while it runs, for example selects of the objects referenced by foreign keys, use this transaction too
+     */
+    public <R> R withTransaction(@Nullable ORMTransaction transaction, @NotNull Supplier<R> supplier) {
+        ORMTransaction previous = currentTransaction.get();
+        if (transaction == null || transaction == previous) {
+            return supplier.get();
+        }
+
+        currentTransaction.set(transaction);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous != null) {
+                currentTransaction.set(previous);
+            } else {
+                currentTransaction.remove();
+            }
+        }
+    }
+
+    /**
+     * Executes given consumer in one transaction. Queries that are built or completed inside it use
+     * the same connection and are committed together when consumer returns. If consumer throws an
+     * exception, transaction is rolled back. Nested calls join the running transaction
+     */
+    public void transaction(@NotNull Consumer<ORMTransaction> consumer) {
+        transactionResult(transaction -> {
+            consumer.accept(transaction);
+            return null;
+        });
+    }
+
+    /**
+     * @see #transaction(Consumer)
+     */
+    public <R> R transactionResult(@NotNull Function<ORMTransaction, R> function) {
+        ORMTransaction current = currentTransaction.get();
+        if (current != null) {
+            return function.apply(current);
+        }
+
+        ORMTransaction transaction;
+        try {
+            transaction = ORMTransaction.begin(this);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+
+        currentTransaction.set(transaction);
+
+        R result;
+        try {
+            result = function.apply(transaction);
+        } catch (RuntimeException | Error e) {
+            currentTransaction.remove();
+
+            try {
+                transaction.finish(false);
+            } catch (SQLException e1) {
+                e.addSuppressed(e1);
+            }
+
+            throw e;
+        }
+
+        currentTransaction.remove();
+
+        try {
+            transaction.finish(true);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return statistics of the prepared statements caches or null if statements aren't cached
+     */
+    @Nullable
+    public StatementCacheStats getStatementCacheStats() {
+        return connectionFactory.getStatementCacheStats();
+    }
+
     @NotNull
     public ORMSettings getSettings() {
         return ormSettings;
@@ -70,7 +237,85 @@ public final class ORMDatabase {
 
     @NotNull
     public Executor getTaskExecutor() {
-        return executor;
+        return getTaskExecutor(ORMPriority.NORMAL);
+    }
+
+    /**
+     * @return executor of the lane with given priority if {@link ORMSettings#isPriorityLanes()}, otherwise
+     * the only task executor
+     */
+    @NotNull
+    public Executor getTaskExecutor(@NotNull ORMPriority priority) {
+        return priorityExecutor != null ? priorityExecutor.forPriority(priority) : taskExecutor;
+    }
+
+    /**
+     * @return executor with priority lanes or null if they are disabled
+     */
+    @Nullable
+    public PriorityExecutor getPriorityExecutor() {
+        return priorityExecutor;
+    }
+
+    /**
+     * @return queue that limits count of the queued tasks, its size can be used to shed load before
+     * the database is overloaded
+     */
+    @NotNull
+    public TaskQueue getTaskQueue() {
+        return taskQueue;
+    }
+
+    /**
+     * @return executor that runs tasks of the task executor with the same order key one by one,
+     * see {@link ru.leonidm.ormm.orm.queries.AbstractQuery#orderKey(Object)}
+     */
+    @NotNull
+    public KeyOrderedExecutor getOrderedExecutor() {
+        return orderedExecutor;
+    }
+
+    /**
+     * @return executor of the queued insert, update and delete queries. In SQLite with group commit
+     * it is a single writer thread, otherwise it is the task executor
+     */
+    @NotNull
+    public Executor getWriteExecutor() {
+        return groupCommitWriter != null ? groupCommitWriter : getTaskExecutor();
+    }
+
+    /**
+     * Writes pending updates of all write-behind buffers in the current thread
+     */
+    public void flush() {
+        WriteBehindFlusher writeBehindFlusher;
+        synchronized (this) {
+            writeBehindFlusher = this.writeBehindFlusher;
+        }
+
+        if (writeBehindFlusher != null) {
+            writeBehindFlusher.flushAll();
+        }
+    }
+
+    /**
+     * Flushes write-behind buffers and stops threads of the database. Queued tasks are still executed
+     */
+    public void shutdown() {
+        WriteBehindFlusher writeBehindFlusher;
+        synchronized (this) {
+            writeBehindFlusher = this.writeBehindFlusher;
+        }
+
+        if (writeBehindFlusher != null) {
+            writeBehindFlusher.shutdown();
+        }
+
+        if (groupCommitWriter != null) {
+            groupCommitWriter.shutdown();
+        }
+
+        executor.shutdown();
     }
 
     public <T> void addTable(@NotNull ORMTable<T> table) {
@@ -170,6 +415,17 @@ public final class ORMDatabase {
 
         tablesByName.put(QueryUtils.getTableName(table), table);
         tablesByClass.put(table.getEntityClass(), table);
+
+        WriteBehindBuffer<T> writeBehindBuffer = table.getWriteBehindBuffer();
+        if (writeBehindBuffer != null) {
+            synchronized (this) {
+                if (writeBehindFlusher == null) {
+                    writeBehindFlusher = new WriteBehindFlusher(ormSettings.getWriteBehindInterval());
+                }
+            }
+
+            writeBehindFlusher.register(writeBehindBuffer);
+        }
     }
 
     @NotNull
@@ -181,6 +437,38 @@ public final class ORMDatabase {
         return table;
     }
 
+    /**
+     * Clears entity caches of all tables and the result cache, must be called after the tables were changed not by ORMM
+     */
+    public void clearCaches() {
+        for (ORMTable<?> table : tablesByClass.values()) {
+            EntityCache<?> cache = table.getCache();
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+
+        resultCache.clear();
+        singleFlight.invalidate();
+    }
+
+    /**
+     * @return cache of the select queries' results, which is used by the queries with
+     * {@link ru.leonidm.ormm.orm.queries.select.AbstractSelectQuery#cached(java.time.Duration)}
+     */
+    @NotNull
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * @return coalescer of the identical select queries, which is used if {@link ORMSettings#isCoalesceSelects()}
+     */
+    @NotNull
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
     @Nullable
     public ORMTable<?> getTable(@NotNull String name) {
         return tablesByName.get(name);
@@ -221,6 +509,16 @@ public final class ORMDatabase {
         return new InsertObjectQuery<>(table, object);
     }
 
+    @NotNull
+    public <T> BatchInsertQuery<T> insertQuery(@NotNull Class<T> clazz, @NotNull Collection<T> objects) {
+        ORMTable<T> table = getTable(clazz);
+        if (table == null) {
+            throw new IllegalArgumentException("Given class \"%s\" wasn't registered as table".formatted(clazz));
+        }
+
+        return new BatchInsertQuery<>(table, objects);
+    }
+
     @NotNull
     public <T> UpdateQuery<T> updateQuery(@NotNull Class<T> clazz) {
         ORMTable<T> table = getTable(clazz);
@@ -241,6 +539,16 @@ public final class ORMDatabase {
         return new UpdateObjectQuery<>(table, object);
     }
 
+    @NotNull
+    public <T> BatchUpdateQuery<T> updateQuery(@NotNull Class<T> clazz, @NotNull Collection<T> objects) {
+        ORMTable<T> table = getTable(clazz);
+        if (table == null) {
+            throw new IllegalArgumentException("Given class \"%s\" wasn't registered as table".formatted(clazz));
+        }
+
+        return new BatchUpdateQuery<>(table, objects);
+    }
+
     @NotNull
     public <T> DeleteQuery<T> deleteQuery(@NotNull Class<T> clazz) {
         ORMTable<T> table = getTable(clazz);
@@ -5,6 +5,7 @@ import lombok.Data;
 import ru.leonidm.ormm.Constant;
 import ru.leonidm.ormm.orm.connection.ConnectionFactories;
 import ru.leonidm.ormm.orm.connection.ConnectionFactory;
+import ru.leonidm.ormm.orm.thread.ORMQueuePolicy;
 
 import java.util.Objects;
 import java.util.function.BiFunction;
@@ -26,6 +27,14 @@ public final class ORMSettings {
     @lombok.Builder.Default
     private final int threadPoolSize = Constant.ORMM_THREAD_POOL;
     @lombok.Builder.Default
+    private final boolean virtualThreads = false;
+    @lombok.Builder.Default
+    private final boolean priorityLanes = false;
+    @lombok.Builder.Default
+    private final int taskQueueSize = Constant.ORMM_TASK_QUEUE_SIZE;
+    @lombok.Builder.Default
+    private final ORMQueuePolicy taskQueuePolicy = ORMQueuePolicy.BLOCK;
+    @lombok.Builder.Default
     private final int connectionPoolSize = Constant.ORMM_CONNECTION_POOL;
     @lombok.Builder.Default
     private final int connectionPoolTimeout = Constant.ORMM_CONNECTION_POOL_TIMEOUT;
@@ -33,6 +42,28 @@ public final class ORMSettings {
     private final BiFunction<ORMDriver, ORMSettings, ConnectionFactory> connectionFactoryInitializer = ConnectionFactories::create;
     @lombok.Builder.Default
     private final boolean logQueries = false;
+    @lombok.Builder.Default
+    private final boolean preparedStatements = false;
+    @lombok.Builder.Default
+    private final int statementCacheSize = Constant.ORMM_STATEMENT_CACHE_SIZE;
+    @lombok.Builder.Default
+    private final int batchSize = Constant.ORMM_BATCH_SIZE;
+    @lombok.Builder.Default
+    private final int fetchSize = Constant.ORMM_FETCH_SIZE;
+    @lombok.Builder.Default
+    private final boolean writeBehind = false;
+    @lombok.Builder.Default
+    private final int writeBehindInterval = Constant.ORMM_WRITE_BEHIND_INTERVAL;
+    @lombok.Builder.Default
+    private final int writeBehindSize = Constant.ORMM_WRITE_BEHIND_SIZE;
+    @lombok.Builder.Default
+    private final boolean groupCommit = false;
+    @lombok.Builder.Default
+    private final int groupCommitSize = Constant.ORMM_GROUP_COMMIT_SIZE;
+    @lombok.Builder.Default
+    private final int resultCacheSize = Constant.ORMM_RESULT_CACHE_SIZE;
+    @lombok.Builder.Default
+    private final boolean coalesceSelects = false;
 
     @Override
     public boolean equals(Object o) {
@@ -6,11 +6,18 @@ import org.jetbrains.annotations.Unmodifiable;
 import ru.leonidm.ormm.annotations.Table;
 import ru.leonidm.ormm.orm.queries.DeleteQuery;
 import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.orm.cache.EntityCache;
+import ru.leonidm.ormm.orm.descriptors.EntityDescriptor;
+import ru.leonidm.ormm.orm.descriptors.EntityDescriptors;
+import ru.leonidm.ormm.orm.mappers.RowMapper;
+import ru.leonidm.ormm.orm.queries.insert.BatchInsertQuery;
 import ru.leonidm.ormm.orm.queries.insert.InsertObjectQuery;
 import ru.leonidm.ormm.orm.queries.insert.InsertQuery;
 import ru.leonidm.ormm.orm.queries.select.SelectQuery;
+import ru.leonidm.ormm.orm.queries.update.BatchUpdateQuery;
 import ru.leonidm.ormm.orm.queries.update.UpdateObjectQuery;
 import ru.leonidm.ormm.orm.queries.update.UpdateQuery;
+import ru.leonidm.ormm.orm.thread.WriteBehindBuffer;
 import ru.leonidm.ormm.utils.QueryUtils;
 import ru.leonidm.ormm.utils.ReflectionUtils;
 
@@ -19,6 +26,7 @@ import java.lang.reflect.Modifier;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -66,19 +74,29 @@ public final class ORMTable<T> {
 
         ORMTable<T> ormTable = new ORMTable<>(database, entityClass, name, table, columns);
 
-        List<Class<?>> classes = new ArrayList<>();
+        EntityDescriptor<T> descriptor = EntityDescriptors.find(entityClass);
+        if (descriptor != null) {
+            ormTable.descriptor = descriptor;
 
-        Class<?> superClass = entityClass;
-        while (superClass != Object.class) {
-            classes.add(superClass);
-            superClass = superClass.getSuperclass();
-        }
+            for (int i = 0; i < descriptor.getFieldNames().size(); i++) {
+                ORMColumn<T, ?> ormColumn = ORMColumn.of(ormTable, descriptor, i);
+                columns.put(ormColumn.getName(), ormColumn);
+            }
+        } else {
+            List<Class<?>> classes = new ArrayList<>();
+
+            Class<?> superClass = entityClass;
+            while (superClass != Object.class) {
+                classes.add(superClass);
+                superClass = superClass.getSuperclass();
+            }
 
-        for (int i = classes.size() - 1; i >= 0; i--) {
-            for (Field field : classes.get(i).getDeclaredFields()) {
-                if (field.isAnnotationPresent(Column.class)) {
-                    ORMColumn<T, ?> ormColumn = ORMColumn.of(ormTable, field);
-                    columns.put(ormColumn.getName(), ormColumn);
+            for (int i = classes.size() - 1; i >= 0; i--) {
+                for (Field field : classes.get(i).getDeclaredFields()) {
+                    if (field.isAnnotationPresent(Column.class)) {
+                        ORMColumn<T, ?> ormColumn = ORMColumn.of(ormTable, field);
+                        columns.put(ormColumn.getName(), ormColumn);
+                    }
                 }
             }
         }
@@ -100,6 +118,17 @@ public final class ORMTable<T> {
             ormTable.keyColumn = keyColumns[0];
         }
 
+        if (ormTable.keyColumn != null && table.cacheSize() > 0) {
+            ormTable.cache = new EntityCache<>(ormTable.keyColumn, table.cacheSize());
+        }
+
+        ormTable.rowMapper = RowMapper.of(ormTable);
+
+        ORMSettings settings = database.getSettings();
+        if (table.writeBehind() || settings.isWriteBehind() && ormTable.keyColumn != null) {
+            ormTable.writeBehindBuffer = new WriteBehindBuffer<>(ormTable, settings.getWriteBehindSize());
+        }
+
         return ormTable;
     }
 
@@ -109,7 +138,10 @@ public final class ORMTable<T> {
     private final Table meta;
     private final LinkedHashMap<String, ORMColumn<T, ?>> columns;
     private ORMColumn<T, ?> keyColumn;
-    private final Map<?, T> cache;
+    private EntityCache<T> cache;
+    private WriteBehindBuffer<T> writeBehindBuffer;
+    private RowMapper<T> rowMapper;
+    private EntityDescriptor<T> descriptor;
 
     public ORMTable(@NotNull ORMDatabase database, @NotNull Class<T> entityClass,
                     @NotNull String name, @NotNull Table meta,
@@ -119,7 +151,6 @@ public final class ORMTable<T> {
         this.name = name;
         this.meta = meta;
         this.columns = columns;
-        this.cache = new HashMap<>(meta.cacheSize(), 1.1f);
     }
 
     @NotNull
@@ -173,6 +204,10 @@ public final class ORMTable<T> {
             throw new IllegalStateException("ResultSet is already closed");
         }
 
+        if (rowMapper != null) {
+            return rowMapper.map(resultSet);
+        }
+
         T t = ReflectionUtils.getNewInstance(entityClass);
 
         for (ORMColumn<T, ?> column : columns.values()) {
@@ -182,6 +217,34 @@ public final class ORMTable<T> {
         return t;
     }
 
+    /**
+     * Reads the columns by their positions instead of labels
+     *
+     * @param positions positions of the columns in the order of {@link #getColumnsStream()}, 0 for not selected ones
+     */
+    @NotNull
+    public T objectFrom(@NotNull ResultSet resultSet, @NotNull int[] positions) throws SQLException {
+        if (positions.length != columns.size()) {
+            throw new IllegalArgumentException("Got %s positions for %s columns".formatted(positions.length, columns.size()));
+        }
+
+        if (rowMapper != null) {
+            return rowMapper.map(resultSet, positions);
+        }
+
+        T t = ReflectionUtils.getNewInstance(entityClass);
+
+        int i = 0;
+        for (ORMColumn<T, ?> column : columns.values()) {
+            int position = positions[i++];
+            if (position > 0) {
+                column.setValue(t, resultSet, position);
+            }
+        }
+
+        return t;
+    }
+
     @Nullable
     public ORMColumn<T, ?> getKeyColumn() {
         return keyColumn;
@@ -207,6 +270,11 @@ public final class ORMTable<T> {
         return new InsertObjectQuery<>(this, object);
     }
 
+    @NotNull
+    public BatchInsertQuery<T> insertAll(@NotNull Collection<T> objects) {
+        return new BatchInsertQuery<>(this, objects);
+    }
+
     @NotNull
     public UpdateQuery<T> updateQuery() {
         return new UpdateQuery<>(this);
@@ -217,6 +285,54 @@ public final class ORMTable<T> {
         return new UpdateObjectQuery<>(this, object);
     }
 
+    @NotNull
+    public BatchUpdateQuery<T> updateAll(@NotNull Collection<T> objects) {
+        return new BatchUpdateQuery<>(this, objects);
+    }
+
+    @Nullable
+    public WriteBehindBuffer<T> getWriteBehindBuffer() {
+        return writeBehindBuffer;
+    }
+
+    /**
+     * @return cache of the entities by primary key or null if table doesn't have primary key or cache is disabled
+     * by {@link Table#cacheSize()}
+     */
+    @Nullable
+    public EntityCache<T> getCache() {
+        return cache;
+    }
+
+    /**
+     * @return generated descriptor of the entity or null if it wasn't generated
+     */
+    @Nullable
+    public EntityDescriptor<T> getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * Puts object into the write-behind buffer if it is enabled, otherwise queues its update.
+     * Buffered objects are written with their state at the moment of the flush
+     */
+    public void updateLater(@NotNull T object) {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.put(object);
+        } else {
+            updateQuery(object).queue();
+        }
+    }
+
+    /**
+     * Writes pending updates of the write-behind buffer in the current thread
+     */
+    public void flush() {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.flush();
+        }
+    }
+
     @NotNull
     public DeleteQuery<T> deleteQuery() {
         return new DeleteQuery<>(this);
@@ -0,0 +1,144 @@
+package ru.leonidm.ormm.orm;
+
+import org.jetbrains.annotations.NotNull;
+import ru.leonidm.ormm.orm.connection.ConnectionFactory;
+import ru.leonidm.ormm.orm.connection.OrmConnection;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pins one connection of the database. Queries that are built or completed inside
+ * {@link ORMDatabase#transaction(java.util.function.Consumer)} are executed on it and committed together.
+ * Queued queries of the transaction must be completed before the transaction ends. Queries that ORMM builds
+ * itself, like selects of the objects referenced by foreign keys, are executed in the transaction of
+ * the query that needs them
+ */
+public final class ORMTransaction {
+
+    private final ORMDatabase database;
+    private final OrmConnection connection;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConnectionFactory connectionFactory = new ConnectionFactory() {
+        @Override
+        @NotNull
+        public OrmConnection getConnection() throws SQLException {
+            return ORMTransaction.this.getConnection();
+        }
+
+        @Override
+        public void releaseConnection(@NotNull OrmConnection connection) {
+            lock.unlock();
+        }
+    };
+    private final Set<ORMTable<?>> changedTables = ConcurrentHashMap.newKeySet();
+    private final List<Runnable> afterCommit = new CopyOnWriteArrayList<>();
+    private volatile boolean active = true;
+    private volatile boolean rollbackOnly = false;
+
+    private ORMTransaction(@NotNull ORMDatabase database, @NotNull OrmConnection connection) {
+        this.database = database;
+        this.connection = connection;
+    }
+
+    @NotNull
+    static ORMTransaction begin(@NotNull ORMDatabase database) throws SQLException {
+        OrmConnection connection = database.getConnection();
+
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+
+        return new ORMTransaction(database, connection);
+    }
+
+    @NotNull
+    public ORMDatabase getDatabase() {
+        return database;
+    }
+
+    /**
+     * @return connection of the transaction, which must be closed after use to let other queries of
+     * the transaction run on it
+     */
+    @NotNull
+    public OrmConnection getConnection() {
+        lock.lock();
+
+        if (!active) {
+            lock.unlock();
+            throw new IllegalStateException("Transaction is already finished");
+        }
+
+        return connection.view(connectionFactory);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Marks transaction to be rolled back instead of committed when it ends
+     */
+    public void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    public boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    /**
+     * Remembers table changed by the transaction, its cached results are invalidated once more when
+     * transaction ends, because other threads could cache the state of the table before the commit
+     */
+    public void addChangedTable(@NotNull ORMTable<?> table) {
+        changedTables.add(table);
+    }
+
+    /**
+     * Runs given runnable after the transaction is committed. It isn't run if transaction is rolled back
+     */
+    public void afterCommit(@NotNull Runnable runnable) {
+        afterCommit.add(runnable);
+    }
+
+    void finish(boolean commit) throws SQLException {
+        lock.lock();
+
+        boolean committed = false;
+        try (connection) {
+            active = false;
+
+            try {
+                if (commit && !rollbackOnly) {
+                    connection.commit();
+                    committed = true;
+                } else {
+                    connection.rollback();
+                    // Caches could be changed by the rolled back queries
+                    database.clearCaches();
+                }
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } finally {
+            if (committed) {
+                afterCommit.forEach(Runnable::run);
+            }
+
+            if (!changedTables.isEmpty()) {
+                changedTables.forEach(database.getResultCache()::invalidate);
+                database.getSingleFlight().invalidate();
+            }
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,581 @@
+package ru.leonidm.ormm.orm.accessors;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.descriptors.EntityDescriptor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Accessor of one field that is specialized by the field's class once, so reading and writing
+ * don't check classes. Primitive fields can be accessed without boxing via typed methods
+ */
+public abstract sealed class FieldAccessor permits FieldAccessor.BooleanAccessor, FieldAccessor.ByteAccessor,
+        FieldAccessor.CharAccessor, FieldAccessor.ShortAccessor, FieldAccessor.IntAccessor, FieldAccessor.LongAccessor,
+        FieldAccessor.FloatAccessor, FieldAccessor.DoubleAccessor, FieldAccessor.ObjectAccessor {
+
+    @NotNull
+    public static FieldAccessor of(@NotNull Field field) {
+        Class<?> type = field.getType();
+
+        MethodHandle getter;
+        MethodHandle setter;
+        try {
+            field.setAccessible(true);
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            getter = lookup.unreflectGetter(field);
+            setter = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return of(type, getter, setter);
+    }
+
+    /**
+     * @return accessor that reads and writes the field via typed methods of the descriptor without reflection
+     */
+    @NotNull
+    public static FieldAccessor of(@NotNull EntityDescriptor<?> descriptor, int field) {
+        if (field < 0 || field >= descriptor.getFieldNames().size()) {
+            throw new IllegalArgumentException("Descriptor of %s doesn't have field #%s"
+                    .formatted(descriptor.getEntityClass().getName(), field));
+        }
+
+        Class<?> type = descriptor.getFieldClasses().get(field);
+        Class<?> handleType = type.isPrimitive() ? type : Object.class;
+        String suffix = type.isPrimitive()
+                ? Character.toUpperCase(type.getName().charAt(0)) + type.getName().substring(1)
+                : "";
+
+        MethodHandle getter;
+        MethodHandle setter;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            getter = lookup.findVirtual(EntityDescriptor.class, "get" + suffix,
+                    MethodType.methodType(handleType, Object.class, int.class));
+            setter = lookup.findVirtual(EntityDescriptor.class, "set" + suffix,
+                    MethodType.methodType(void.class, Object.class, int.class, handleType));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+
+        getter = MethodHandles.insertArguments(getter.bindTo(descriptor), 1, field);
+        setter = MethodHandles.insertArguments(setter.bindTo(descriptor), 1, field);
+
+        return of(type, getter, setter);
+    }
+
+    @NotNull
+    private static FieldAccessor of(@NotNull Class<?> type, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+        Class<?> handleType = type.isPrimitive() ? type : Object.class;
+        getter = getter.asType(MethodType.methodType(handleType, Object.class));
+        setter = setter.asType(MethodType.methodType(void.class, Object.class, handleType));
+
+        if (type == boolean.class) {
+            return new BooleanAccessor(type, getter, setter);
+        } else if (type == byte.class) {
+            return new ByteAccessor(type, getter, setter);
+        } else if (type == char.class) {
+            return new CharAccessor(type, getter, setter);
+        } else if (type == short.class) {
+            return new ShortAccessor(type, getter, setter);
+        } else if (type == int.class) {
+            return new IntAccessor(type, getter, setter);
+        } else if (type == long.class) {
+            return new LongAccessor(type, getter, setter);
+        } else if (type == float.class) {
+            return new FloatAccessor(type, getter, setter);
+        } else if (type == double.class) {
+            return new DoubleAccessor(type, getter, setter);
+        } else {
+            return new ObjectAccessor(type, getter, setter);
+        }
+    }
+
+    protected final Class<?> fieldClass;
+    protected final MethodHandle getter;
+    protected final MethodHandle setter;
+
+    private FieldAccessor(@NotNull Class<?> fieldClass, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+        this.fieldClass = fieldClass;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @Nullable
+    public abstract Object get(@NotNull Object object);
+
+    /**
+     * Null is written as the default value to the primitive fields. Long and double fields also accept
+     * integer and float objects
+     */
+    public abstract void set(@NotNull Object object, @Nullable Object value);
+
+    public boolean getBoolean(@NotNull Object object) {
+        throw wrongPrimitive(boolean.class);
+    }
+
+    public void setBoolean(@NotNull Object object, boolean value) {
+        throw wrongPrimitive(boolean.class);
+    }
+
+    public byte getByte(@NotNull Object object) {
+        throw wrongPrimitive(byte.class);
+    }
+
+    public void setByte(@NotNull Object object, byte value) {
+        throw wrongPrimitive(byte.class);
+    }
+
+    public char getChar(@NotNull Object object) {
+        throw wrongPrimitive(char.class);
+    }
+
+    public void setChar(@NotNull Object object, char value) {
+        throw wrongPrimitive(char.class);
+    }
+
+    public short getShort(@NotNull Object object) {
+        throw wrongPrimitive(short.class);
+    }
+
+    public void setShort(@NotNull Object object, short value) {
+        throw wrongPrimitive(short.class);
+    }
+
+    public int getInt(@NotNull Object object) {
+        throw wrongPrimitive(int.class);
+    }
+
+    public void setInt(@NotNull Object object, int value) {
+        throw wrongPrimitive(int.class);
+    }
+
+    public long getLong(@NotNull Object object) {
+        throw wrongPrimitive(long.class);
+    }
+
+    public void setLong(@NotNull Object object, long value) {
+        throw wrongPrimitive(long.class);
+    }
+
+    public float getFloat(@NotNull Object object) {
+        throw wrongPrimitive(float.class);
+    }
+
+    public void setFloat(@NotNull Object object, float value) {
+        throw wrongPrimitive(float.class);
+    }
+
+    public double getDouble(@NotNull Object object) {
+        throw wrongPrimitive(double.class);
+    }
+
+    public void setDouble(@NotNull Object object, double value) {
+        throw wrongPrimitive(double.class);
+    }
+
+    @NotNull
+    public Class<?> getFieldClass() {
+        return fieldClass;
+    }
+
+    @NotNull
+    private IllegalStateException wrongPrimitive(@NotNull Class<?> primitive) {
+        return new IllegalStateException("Field of class \"%s\" can't be accessed as %s".formatted(fieldClass, primitive));
+    }
+
+    @NotNull
+    protected final IllegalArgumentException wrongClass(@NotNull Object value) {
+        return new IllegalArgumentException("Given object \"%s\" has wrong class \"%s\" (must be %s)"
+                .formatted(value, value.getClass(), fieldClass));
+    }
+
+    @NotNull
+    protected static RuntimeException rethrow(@NotNull Throwable throwable) {
+        if (throwable instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+
+        if (throwable instanceof Error error) {
+            throw error;
+        }
+
+        return new IllegalStateException(throwable);
+    }
+
+    static final class BooleanAccessor extends FieldAccessor {
+
+        private BooleanAccessor(@NotNull Class<?> fieldClass, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            super(fieldClass, getter, setter);
+        }
+
+        @Override
+        @NotNull
+        public Object get(@NotNull Object object) {
+            return getBoolean(object);
+        }
+
+        @Override
+        public void set(@NotNull Object object, @Nullable Object value) {
+            if (value == null) {
+                setBoolean(object, false);
+            } else if (value instanceof Boolean b) {
+                setBoolean(object, b);
+            } else {
+                throw wrongClass(value);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(@NotNull Object object) {
+            try {
+                return (boolean) getter.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setBoolean(@NotNull Object object, boolean value) {
+            try {
+                setter.invokeExact(object, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    static final class ByteAccessor extends FieldAccessor {
+
+        private ByteAccessor(@NotNull Class<?> fieldClass, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            super(fieldClass, getter, setter);
+        }
+
+        @Override
+        @NotNull
+        public Object get(@NotNull Object object) {
+            return getByte(object);
+        }
+
+        @Override
+        public void set(@NotNull Object object, @Nullable Object value) {
+            if (value == null) {
+                setByte(object, (byte) 0);
+            } else if (value instanceof Byte b) {
+                setByte(object, b);
+            } else {
+                throw wrongClass(value);
+            }
+        }
+
+        @Override
+        public byte getByte(@NotNull Object object) {
+            try {
+                return (byte) getter.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setByte(@NotNull Object object, byte value) {
+            try {
+                setter.invokeExact(object, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    static final class CharAccessor extends FieldAccessor {
+
+        private CharAccessor(@NotNull Class<?> fieldClass, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            super(fieldClass, getter, setter);
+        }
+
+        @Override
+        @NotNull
+        public Object get(@NotNull Object object) {
+            return getChar(object);
+        }
+
+        @Override
+        public void set(@NotNull Object object, @Nullable Object value) {
+            if (value == null) {
+                setChar(object, (char) 0);
+            } else if (value instanceof Character c) {
+                setChar(object, c);
+            } else {
+                throw wrongClass(value);
+            }
+        }
+
+        @Override
+        public char getChar(@NotNull Object object) {
+            try {
+                return (char) getter.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setChar(@NotNull Object object, char value) {
+            try {
+                setter.invokeExact(object, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    static final class ShortAccessor extends FieldAccessor {
+
+        private ShortAccessor(@NotNull Class<?> fieldClass, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            super(fieldClass, getter, setter);
+        }
+
+        @Override
+        @NotNull
+        public Object get(@NotNull Object object) {
+            return getShort(object);
+        }
+
+        @Override
+        public void set(@NotNull Object object, @Nullable Object value) {
+            if (value == null) {
+                setShort(object, (short) 0);
+            } else if (value instanceof Short s) {
+                setShort(object, s);
+            } else {
+                throw wrongClass(value);
+            }
+        }
+
+        @Override
+        public short getShort(@NotNull Object object) {
+            try {
+                return (short) getter.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setShort(@NotNull Object object, short value) {
+            try {
+                setter.invokeExact(object, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    static final class IntAccessor extends FieldAccessor {
+
+        private IntAccessor(@NotNull Class<?> fieldClass, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            super(fieldClass, getter, setter);
+        }
+
+        @Override
+        @NotNull
+        public Object get(@NotNull Object object) {
+            return getInt(object);
+        }
+
+        @Override
+        public void set(@NotNull Object object, @Nullable Object value) {
+            if (value == null) {
+                setInt(object, 0);
+            } else if (value instanceof Integer i) {
+                setInt(object, i);
+            } else {
+                throw wrongClass(value);
+            }
+        }
+
+        @Override
+        public int getInt(@NotNull Object object) {
+            try {
+                return (int) getter.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setInt(@NotNull Object object, int value) {
+            try {
+                setter.invokeExact(object, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    static final class LongAccessor extends FieldAccessor {
+
+        private LongAccessor(@NotNull Class<?> fieldClass, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            super(fieldClass, getter, setter);
+        }
+
+        @Override
+        @NotNull
+        public Object get(@NotNull Object object) {
+            return getLong(object);
+        }
+
+        @Override
+        public void set(@NotNull Object object, @Nullable Object value) {
+            if (value == null) {
+                setLong(object, 0L);
+            } else if (value instanceof Long l) {
+                setLong(object, l);
+            } else if (value instanceof Integer i) {
+                setLong(object, i);
+            } else {
+                throw wrongClass(value);
+            }
+        }
+
+        @Override
+        public long getLong(@NotNull Object object) {
+            try {
+                return (long) getter.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setLong(@NotNull Object object, long value) {
+            try {
+                setter.invokeExact(object, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    static final class FloatAccessor extends FieldAccessor {
+
+        private FloatAccessor(@NotNull Class<?> fieldClass, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            super(fieldClass, getter, setter);
+        }
+
+        @Override
+        @NotNull
+        public Object get(@NotNull Object object) {
+            return getFloat(object);
+        }
+
+        @Override
+        public void set(@NotNull Object object, @Nullable Object value) {
+            if (value == null) {
+                setFloat(object, 0F);
+            } else if (value instanceof Float f) {
+                setFloat(object, f);
+            } else {
+                throw wrongClass(value);
+            }
+        }
+
+        @Override
+        public float getFloat(@NotNull Object object) {
+            try {
+                return (float) getter.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setFloat(@NotNull Object object, float value) {
+            try {
+                setter.invokeExact(object, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    static final class DoubleAccessor extends FieldAccessor {
+
+        private DoubleAccessor(@NotNull Class<?> fieldClass, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            super(fieldClass, getter, setter);
+        }
+
+        @Override
+        @NotNull
+        public Object get(@NotNull Object object) {
+            return getDouble(object);
+        }
+
+        @Override
+        public void set(@NotNull Object object, @Nullable Object value) {
+            if (value == null) {
+                setDouble(object, 0D);
+            } else if (value instanceof Double d) {
+                setDouble(object, d);
+            } else if (value instanceof Float f) {
+                setDouble(object, f);
+            } else {
+                throw wrongClass(value);
+            }
+        }
+
+        @Override
+        public double getDouble(@NotNull Object object) {
+            try {
+                return (double) getter.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setDouble(@NotNull Object object, double value) {
+            try {
+                setter.invokeExact(object, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    static final class ObjectAccessor extends FieldAccessor {
+
+        private ObjectAccessor(@NotNull Class<?> fieldClass, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            super(fieldClass, getter, setter);
+        }
+
+        @Override
+        @Nullable
+        public Object get(@NotNull Object object) {
+            try {
+                return (Object) getter.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void set(@NotNull Object object, @Nullable Object value) {
+            if (value != null && !fieldClass.isInstance(value)) {
+                throw wrongClass(value);
+            }
+
+            try {
+                setter.invokeExact(object, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+}
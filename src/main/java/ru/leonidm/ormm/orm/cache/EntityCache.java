@@ -0,0 +1,90 @@
+package ru.leonidm.ormm.orm.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.ORMColumn;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded cache of the table's entities by their primary keys. It is filled by selects and
+ * inserts of the objects, updated by updates of the objects and invalidated by other mutating queries.
+ * Least recently used entities are evicted first
+ */
+public final class EntityCache<T> {
+
+    private final ORMColumn<T, ?> keyColumn;
+    private final int maxSize;
+    private final LinkedHashMap<Object, T> entities;
+
+    public EntityCache(@NotNull ORMColumn<T, ?> keyColumn, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Size of the entity cache must be positive");
+        }
+
+        this.keyColumn = keyColumn;
+        this.maxSize = maxSize;
+        this.entities = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, T> eldest) {
+                return size() > EntityCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param key value of the key in the field or database format
+     */
+    @Nullable
+    public synchronized T get(@NotNull Object key) {
+        return entities.get(toKey(key));
+    }
+
+    public void put(@NotNull T object) {
+        Object key = toKey(keyColumn.getValue(object));
+        if (key == null) {
+            return;
+        }
+
+        synchronized (this) {
+            entities.put(key, object);
+        }
+    }
+
+    /**
+     * @param key value of the key in the field or database format
+     */
+    public void evict(@NotNull Object key) {
+        Object databaseKey = toKey(key);
+        if (databaseKey == null) {
+            return;
+        }
+
+        synchronized (this) {
+            entities.remove(databaseKey);
+        }
+    }
+
+    public void evictObject(@NotNull T object) {
+        Object key = keyColumn.getValue(object);
+        if (key != null) {
+            evict(key);
+        }
+    }
+
+    public synchronized void clear() {
+        entities.clear();
+    }
+
+    public synchronized int size() {
+        return entities.size();
+    }
+
+    @Nullable
+    private Object toKey(@Nullable Object key) {
+        Object databaseKey = keyColumn.toDatabaseObject(key);
+        // Arrays don't have value-based hash codes
+        return databaseKey == null || databaseKey.getClass().isArray() ? null : databaseKey;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.leonidm.ormm.orm.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.queries.QueryKey;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache of the select queries' results by their SQL and bound values. Every result remembers
+ * versions of the tables it was read from, and any change of these tables through ORMM makes it stale.
+ * Cached results and their objects are shared between all queries, so they must not be modified
+ */
+public final class ResultCache {
+
+    private final int maxSize;
+    private final Map<QueryKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<ORMTable<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResultCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param tables tables the query reads from
+     * @param ttl    time to live of the result in nanoseconds
+     * @return cached result or result of the supplier, which is cached if none of the tables was changed
+     * while it was being executed
+     */
+    @Nullable
+    public <R> R get(@NotNull QueryKey key, @NotNull Collection<ORMTable<?>> tables, long ttl,
+                     @NotNull Supplier<R> supplier) {
+        if (maxSize <= 0) {
+            return supplier.get();
+        }
+
+        ORMTable<?>[] tablesArray = tables.toArray(ORMTable[]::new);
+        long[] snapshot = snapshot(tablesArray);
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt - System.nanoTime() > 0 && Arrays.equals(entry.versions, snapshot)) {
+                return (R) entry.result;
+            }
+
+            entries.remove(key, entry);
+        }
+
+        R result = supplier.get();
+
+        if (Arrays.equals(snapshot, snapshot(tablesArray))) {
+            if (entries.size() >= maxSize) {
+                evict();
+            }
+
+            entries.put(key, new Entry(result, System.nanoTime() + ttl, tablesArray, snapshot));
+        }
+
+        return result;
+    }
+
+    /**
+     * Makes results read from the table stale
+     */
+    public void invalidate(@NotNull ORMTable<?> table) {
+        versions.computeIfAbsent(table, k -> new AtomicLong()).incrementAndGet();
+        entries.values().removeIf(entry -> entry.reads(table));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private long @NotNull [] snapshot(@NotNull ORMTable<?> @NotNull [] tables) {
+        long[] snapshot = new long[tables.length + 1];
+        snapshot[0] = generation.get();
+
+        for (int i = 0; i < tables.length; i++) {
+            AtomicLong version = versions.get(tables[i]);
+            snapshot[i + 1] = version != null ? version.get() : 0;
+        }
+
+        return snapshot;
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+
+        Iterator<QueryKey> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Entry(@Nullable Object result, long expiresAt, @NotNull ORMTable<?> @NotNull [] tables,
+                         long @NotNull [] versions) {
+
+        public boolean reads(@NotNull ORMTable<?> table) {
+            for (ORMTable<?> entryTable : tables) {
+                if (entryTable.equals(table)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
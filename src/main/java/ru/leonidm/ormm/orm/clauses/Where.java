@@ -3,9 +3,9 @@ package ru.leonidm.ormm.orm.clauses;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import ru.leonidm.commons.functions.TriFunction;
 import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
 import ru.leonidm.ormm.orm.queries.select.AbstractSelectQuery;
 import ru.leonidm.ormm.utils.ClassUtils;
 import ru.leonidm.ormm.utils.FormatUtils;
@@ -132,39 +132,67 @@ public final class Where {
         throw new IllegalStateException();
     }
 
+    /**
+     * @return value that is compared by equality with the table's primary key or null if this clause
+     * isn't such comparison
+     */
+    @Nullable
+    public Object getKeyValue(@NotNull ORMTable<?> table) {
+        if (type != Type.COMPARE || !"=".equals(args[0]) || args[1] == null
+                || args[1] instanceof AbstractSelectQuery<?, ?, ?, ?>) {
+            return null;
+        }
+
+        if (entityClass != null && entityClass != table.getEntityClass()) {
+            return null;
+        }
+
+        ORMColumn<?, ?> keyColumn = table.getKeyColumn();
+        if (keyColumn == null || table.getColumn(column) != keyColumn) {
+            return null;
+        }
+
+        return args[1];
+    }
+
     @NotNull
     public String build(@NotNull ORMTable<?> table) {
-        return type.build(table, entityClass, column, args);
+        return build(table, SQLParameters.literal());
+    }
+
+    @NotNull
+    public String build(@NotNull ORMTable<?> table, @NotNull SQLParameters parameters) {
+        return type.build(table, entityClass, column, parameters, args);
     }
 
     private enum Type {
-        COMPARE(2, (table, column, args) -> {
+        COMPARE(2, (table, column, args, parameters) -> {
             return FormatUtils.writeColumnFullName(column).append(' ').append(args[0]).append(' ')
-                    .append(toStringSQLValue(column, args[1])).toString();
+                    .append(writeValue(column, args[1], parameters)).toString();
         }),
 
-        LIKE(1, (table, column, args) -> {
+        LIKE(1, (table, column, args, parameters) -> {
             return FormatUtils.writeColumnFullName(column)
-                    .append(" LIKE ").append(toStringSQLValue(column, args[0])).toString();
+                    .append(" LIKE ").append(writeValue(column, args[0], parameters)).toString();
         }),
 
-        IN(-1, (table, column, args) -> {
+        IN(-1, (table, column, args, parameters) -> {
             StringBuilder stringBuilder = FormatUtils.writeColumnFullName(column).append(" IN (");
 
-            Arrays.stream(args).forEach(arg -> stringBuilder.append(toStringSQLValue(column, arg)).append(','));
+            Arrays.stream(args).forEach(arg -> stringBuilder.append(writeValue(column, arg, parameters)).append(','));
 
             return stringBuilder.deleteCharAt(stringBuilder.length() - 1).append(')').toString();
         }),
 
-        IS_NULL(0, (table, column, args) -> {
+        IS_NULL(0, (table, column, args, parameters) -> {
             return FormatUtils.writeColumnFullName(column).append(" IS NULL").toString();
         }),
 
-        IS_NOT_NULL(0, (table, column, args) -> {
+        IS_NOT_NULL(0, (table, column, args, parameters) -> {
             return FormatUtils.writeColumnFullName(column).append(" IS NOT NULL").toString();
         }),
 
-        AND(-1, (table, column, args) -> {
+        AND(-1, (table, column, args, parameters) -> {
             StringBuilder stringBuilder = new StringBuilder("(");
 
             Arrays.stream(args).forEach(arg -> {
@@ -172,13 +200,13 @@ public final class Where {
                     throw new IllegalArgumentException("At least one of the arguments isn't \"Where\" clause");
                 }
 
-                stringBuilder.append(where.build(table)).append(") AND (");
+                stringBuilder.append(where.build(table, parameters)).append(") AND (");
             });
 
             return stringBuilder.delete(stringBuilder.length() - 5, stringBuilder.length()).toString();
         }),
 
-        OR(-1, (table, column, args) -> {
+        OR(-1, (table, column, args, parameters) -> {
             StringBuilder stringBuilder = new StringBuilder("(");
 
             Arrays.stream(args).forEach(arg -> {
@@ -186,44 +214,45 @@ public final class Where {
                     throw new IllegalArgumentException("At least one of the arguments isn't \"Where\" clause");
                 }
 
-                stringBuilder.append(where.build(table)).append(") OR (");
+                stringBuilder.append(where.build(table, parameters)).append(") OR (");
             });
 
             return stringBuilder.delete(stringBuilder.length() - 5, stringBuilder.length()).toString();
         }),
 
-        NOT(1, (table, column, args) -> {
+        NOT(1, (table, column, args, parameters) -> {
             if (!(args[0] instanceof Where where)) {
                 throw new IllegalArgumentException("At least one of the arguments isn't \"Where\" clause");
             }
 
-            return "NOT (" + where.build(table) + ")";
+            return "NOT (" + where.build(table, parameters) + ")";
         });
 
         @NotNull
-        private static String toStringSQLValue(@NotNull ORMColumn<?, ?> column, @Nullable Object arg) {
+        private static String writeValue(@NotNull ORMColumn<?, ?> column, @Nullable Object arg,
+                                         @NotNull SQLParameters parameters) {
             if (arg == null) {
-                return FormatUtils.toStringSQLValue(null);
+                return parameters.write(null);
             }
 
             if (ClassUtils.isBuiltIn(arg.getClass()) || arg instanceof AbstractSelectQuery<?, ?, ?, ?>) {
-                return FormatUtils.toStringSQLValue(arg);
+                return parameters.write(arg);
             }
 
-            return FormatUtils.toStringSQLValue(column.toDatabaseObject(arg));
+            return parameters.write(column.toDatabaseObject(arg));
         }
 
         private final int argsAmount;
-        private final TriFunction<ORMTable<?>, ORMColumn<?, ?>, Object[], String> function;
+        private final Function function;
 
-        Type(int argsAmount, TriFunction<ORMTable<?>, ORMColumn<?, ?>, Object[], String> function) {
+        Type(int argsAmount, Function function) {
             this.argsAmount = argsAmount;
             this.function = function;
         }
 
         @NotNull
         private String build(@NotNull ORMTable<?> table, @Nullable Class<?> entityClass, @Nullable String columnName,
-                             @NotNull Object @NotNull ... args) {
+                             @NotNull SQLParameters parameters, @NotNull Object @NotNull ... args) {
             if (argsAmount >= 0 && argsAmount != args.length) {
                 throw new IllegalArgumentException("Provided arguments has wrong amount");
             }
@@ -245,7 +274,14 @@ public final class Where {
                 column = null;
             }
 
-            return function.apply(table, column, args);
+            return function.apply(table, column, args, parameters);
         }
     }
+
+    @FunctionalInterface
+    private interface Function {
+
+        String apply(ORMTable<?> table, ORMColumn<?, ?> column, Object[] args, SQLParameters parameters);
+
+    }
 }
@@ -1,6 +1,7 @@
 package ru.leonidm.ormm.orm.connection;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.SQLException;
 
@@ -11,4 +12,12 @@ public interface ConnectionFactory {
 
     void releaseConnection(@NotNull OrmConnection connection) throws SQLException;
 
+    /**
+     * @return statistics of the prepared statements caches or null if this factory doesn't cache statements
+     */
+    @Nullable
+    default StatementCacheStats getStatementCacheStats() {
+        return null;
+    }
+
 }
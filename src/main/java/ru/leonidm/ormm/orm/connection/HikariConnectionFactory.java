@@ -19,6 +19,14 @@ public class HikariConnectionFactory implements ConnectionFactory {
         dataSource.setPassword(settings.getPassword());
         dataSource.setMaximumPoolSize(settings.getConnectionPoolSize());
         dataSource.setConnectionTimeout(settings.getConnectionPoolTimeout());
+
+        // Hikari closes all statements of the connection when it is returned to the pool,
+        // so prepared statements can only be cached by the driver itself
+        if (driver == ORMDriver.MYSQL && StatementCache.isEnabled(settings)) {
+            dataSource.addDataSourceProperty("cachePrepStmts", "true");
+            dataSource.addDataSourceProperty("prepStmtCacheSize", settings.getStatementCacheSize());
+            dataSource.addDataSourceProperty("prepStmtCacheSqlLimit", 2048);
+        }
     }
 
     @Override
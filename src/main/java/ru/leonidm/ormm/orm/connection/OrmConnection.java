@@ -1,20 +1,38 @@
 package ru.leonidm.ormm.orm.connection;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
 
 public final class OrmConnection implements AutoCloseable {
 
     private final ConnectionFactory connectionFactory;
     private final Connection connection;
+    private final StatementCache statementCache;
 
     public OrmConnection(@NotNull ConnectionFactory connectionFactory, @NotNull Connection connection) {
+        this(connectionFactory, connection, null);
+    }
+
+    public OrmConnection(@NotNull ConnectionFactory connectionFactory, @NotNull Connection connection,
+                         @Nullable StatementCache statementCache) {
         this.connectionFactory = connectionFactory;
         this.connection = connection;
+        this.statementCache = statementCache;
+    }
+
+    /**
+     * @return connection that shares the physical connection and statements cache with this one,
+     * but is released to the given factory
+     */
+    @NotNull
+    public OrmConnection view(@NotNull ConnectionFactory connectionFactory) {
+        return new OrmConnection(connectionFactory, connection, statementCache);
     }
 
     @NotNull
@@ -36,6 +54,40 @@ public final class OrmConnection implements AutoCloseable {
         return connection.prepareStatement(sql);
     }
 
+    @NotNull
+    public PreparedStatement prepareStatement(@NotNull String sql, int autoGeneratedKeys) throws SQLException {
+        return connection.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    /**
+     * Returned statement must be given back via {@link #releaseStatement(String, boolean, PreparedStatement)}
+     */
+    @NotNull
+    public PreparedStatement prepareCachedStatement(@NotNull String sql, boolean generatedKeys) throws SQLException {
+        if (statementCache != null) {
+            return statementCache.borrow(sql, generatedKeys);
+        }
+
+        if (generatedKeys) {
+            return prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        } else {
+            return prepareStatement(sql);
+        }
+    }
+
+    public void releaseStatement(@NotNull String sql, boolean generatedKeys,
+                                 @NotNull PreparedStatement statement) throws SQLException {
+        if (statementCache != null) {
+            statementCache.release(sql, generatedKeys, statement);
+        } else {
+            statement.close();
+        }
+    }
+
+    public boolean getAutoCommit() throws SQLException {
+        return connection.getAutoCommit();
+    }
+
     public void setAutoCommit(boolean autoCommit) throws SQLException {
         connection.setAutoCommit(autoCommit);
     }
@@ -48,6 +100,19 @@ public final class OrmConnection implements AutoCloseable {
         connection.rollback();
     }
 
+    @NotNull
+    public Savepoint setSavepoint() throws SQLException {
+        return connection.setSavepoint();
+    }
+
+    public void rollback(@NotNull Savepoint savepoint) throws SQLException {
+        connection.rollback(savepoint);
+    }
+
+    public void releaseSavepoint(@NotNull Savepoint savepoint) throws SQLException {
+        connection.releaseSavepoint(savepoint);
+    }
+
     @Override
     public void close() throws SQLException {
         connectionFactory.releaseConnection(this);
@@ -1,14 +1,17 @@
 package ru.leonidm.ormm.orm.connection;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import ru.leonidm.ormm.orm.ORMDriver;
 import ru.leonidm.ormm.orm.ORMSettings;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
@@ -18,6 +21,8 @@ public class PoolConnectionFactory implements ConnectionFactory {
     private final ORMDriver driver;
     private final ORMSettings settings;
     private final BlockingQueue<Connection> freeConnections;
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final StatementCacheStats statementCacheStats;
     private final int size;
     private final int timeout;
     private int totalConnections = 0;
@@ -28,6 +33,7 @@ public class PoolConnectionFactory implements ConnectionFactory {
         size = settings.getConnectionPoolSize();
         timeout = settings.getConnectionPoolTimeout();
         freeConnections = new LinkedBlockingDeque<>(size);
+        statementCacheStats = StatementCache.isEnabled(settings) ? new StatementCacheStats() : null;
     }
 
     @Override
@@ -58,7 +64,13 @@ public class PoolConnectionFactory implements ConnectionFactory {
             }
         }
 
-        OrmConnection ormConnection = new OrmConnection(this, connection);
+        StatementCache statementCache = null;
+        if (statementCacheStats != null) {
+            statementCache = statementCaches.computeIfAbsent(connection, k ->
+                    new StatementCache(k, settings.getStatementCacheSize(), statementCacheStats));
+        }
+
+        OrmConnection ormConnection = new OrmConnection(this, connection, statementCache);
         synchronized (this) {
             ormConnections.add(ormConnection);
         }
@@ -67,7 +79,7 @@ public class PoolConnectionFactory implements ConnectionFactory {
     }
 
     @Override
-    public synchronized void releaseConnection(@NotNull OrmConnection ormConnection) throws SQLException {
+    public void releaseConnection(@NotNull OrmConnection ormConnection) throws SQLException {
         synchronized (this) {
             if (!ormConnections.remove(ormConnection)) {
                 return;
@@ -80,6 +92,11 @@ public class PoolConnectionFactory implements ConnectionFactory {
                 // TODO: normal logger
                 System.err.println("[ORMM] Got closed connection");
 
+                StatementCache statementCache = statementCaches.remove(connection);
+                if (statementCache != null) {
+                    statementCache.close();
+                }
+
                 connection = driver.getConnection(settings);
             } else if (!connection.getAutoCommit()) {
                 connection.commit();
@@ -91,4 +108,10 @@ public class PoolConnectionFactory implements ConnectionFactory {
             }
         }
     }
+
+    @Override
+    @Nullable
+    public StatementCacheStats getStatementCacheStats() {
+        return statementCacheStats;
+    }
 }
@@ -0,0 +1,102 @@
+package ru.leonidm.ormm.orm.connection;
+
+import org.jetbrains.annotations.NotNull;
+import ru.leonidm.ormm.orm.ORMSettings;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LRU cache of the prepared statements of one physical connection. Statements are taken out of the cache
+ * while they are used, so nested queries on the same connection never share one statement
+ */
+public final class StatementCache {
+
+    public static boolean isEnabled(@NotNull ORMSettings settings) {
+        return settings.isPreparedStatements() && settings.getStatementCacheSize() > 0;
+    }
+
+    private final Connection connection;
+    private final int size;
+    private final StatementCacheStats stats;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+
+    public StatementCache(@NotNull Connection connection, int size, @NotNull StatementCacheStats stats) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size of the statement cache must be positive");
+        }
+
+        this.connection = connection;
+        this.size = size;
+        this.stats = stats;
+        this.statements = new LinkedHashMap<>(size * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() <= StatementCache.this.size) {
+                    return false;
+                }
+
+                stats.eviction();
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    @NotNull
+    public synchronized PreparedStatement borrow(@NotNull String sql, boolean generatedKeys) throws SQLException {
+        PreparedStatement statement = statements.remove(new Key(sql, generatedKeys));
+        if (statement != null && !statement.isClosed()) {
+            stats.hit();
+            return statement;
+        }
+
+        stats.miss();
+        if (generatedKeys) {
+            return connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        } else {
+            return connection.prepareStatement(sql);
+        }
+    }
+
+    public synchronized void release(@NotNull String sql, boolean generatedKeys,
+                                     @NotNull PreparedStatement statement) throws SQLException {
+        if (statement.isClosed()) {
+            return;
+        }
+
+        statement.clearParameters();
+
+        PreparedStatement previous = statements.put(new Key(sql, generatedKeys), statement);
+        if (previous != null && previous != statement) {
+            closeQuietly(previous);
+        }
+    }
+
+    public synchronized void close() {
+        List<PreparedStatement> list = new ArrayList<>(statements.values());
+        statements.clear();
+        list.forEach(StatementCache::closeQuietly);
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    private static void closeQuietly(@NotNull PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private record Key(@NotNull String sql, boolean generatedKeys) {
+
+    }
+}
@@ -1,6 +1,7 @@
 package ru.leonidm.ormm.orm.connection;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import ru.leonidm.ormm.orm.ORMDriver;
 import ru.leonidm.ormm.orm.ORMSettings;
 
@@ -13,11 +14,14 @@ public class StaticConnectionFactory implements ConnectionFactory {
     private final ReentrantLock lock = new ReentrantLock();
     private final ORMDriver driver;
     private final ORMSettings settings;
+    private final StatementCacheStats statementCacheStats;
     private OrmConnection ormConnection;
+    private StatementCache statementCache;
 
     public StaticConnectionFactory(@NotNull ORMDriver driver, @NotNull ORMSettings settings) {
         this.driver = driver;
         this.settings = settings;
+        this.statementCacheStats = StatementCache.isEnabled(settings) ? new StatementCacheStats() : null;
     }
 
     @Override
@@ -31,7 +35,17 @@ public class StaticConnectionFactory implements ConnectionFactory {
                 System.err.println("[ORMM] Got closed connection");
             }
 
-            ormConnection = new OrmConnection(this, driver.getConnection(settings));
+            if (statementCache != null) {
+                statementCache.close();
+                statementCache = null;
+            }
+
+            Connection connection = driver.getConnection(settings);
+            if (statementCacheStats != null) {
+                statementCache = new StatementCache(connection, settings.getStatementCacheSize(), statementCacheStats);
+            }
+
+            ormConnection = new OrmConnection(this, connection, statementCache);
         }
 
         return ormConnection;
@@ -53,4 +67,10 @@ public class StaticConnectionFactory implements ConnectionFactory {
             lock.unlock();
         }
     }
+
+    @Override
+    @Nullable
+    public StatementCacheStats getStatementCacheStats() {
+        return statementCacheStats;
+    }
 }
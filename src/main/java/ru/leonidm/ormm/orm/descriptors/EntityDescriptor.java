@@ -0,0 +1,88 @@
+package ru.leonidm.ormm.orm.descriptors;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.ForeignKey;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+
+import java.util.List;
+
+/**
+ * Reflection-free access to the entity, usually generated by ORMM annotation processor.
+ * Fields are identified by their indexes in {@link #getFieldNames()}. Primitive fields are accessed
+ * without boxing via typed methods, which throw {@link IllegalArgumentException} for fields of other classes
+ */
+public interface EntityDescriptor<T> {
+
+    @NotNull
+    Class<T> getEntityClass();
+
+    @NotNull
+    T newInstance();
+
+    /**
+     * @return names of the {@code @Column} fields, fields of the superclasses go first
+     */
+    @NotNull
+    @Unmodifiable
+    List<String> getFieldNames();
+
+    /**
+     * @return classes of the fields in the same order as {@link #getFieldNames()}
+     */
+    @NotNull
+    @Unmodifiable
+    List<Class<?>> getFieldClasses();
+
+    @NotNull
+    Column getColumn(int field);
+
+    @Nullable
+    PrimaryKey getPrimaryKey(int field);
+
+    @Nullable
+    ForeignKey getForeignKey(int field);
+
+    @Nullable
+    Object get(@NotNull T object, int field);
+
+    /**
+     * @param value object of the field's class, primitives are boxed
+     */
+    void set(@NotNull T object, int field, @Nullable Object value);
+
+    boolean getBoolean(@NotNull T object, int field);
+
+    void setBoolean(@NotNull T object, int field, boolean value);
+
+    byte getByte(@NotNull T object, int field);
+
+    void setByte(@NotNull T object, int field, byte value);
+
+    char getChar(@NotNull T object, int field);
+
+    void setChar(@NotNull T object, int field, char value);
+
+    short getShort(@NotNull T object, int field);
+
+    void setShort(@NotNull T object, int field, short value);
+
+    int getInt(@NotNull T object, int field);
+
+    void setInt(@NotNull T object, int field, int value);
+
+    long getLong(@NotNull T object, int field);
+
+    void setLong(@NotNull T object, int field, long value);
+
+    float getFloat(@NotNull T object, int field);
+
+    void setFloat(@NotNull T object, int field, float value);
+
+    double getDouble(@NotNull T object, int field);
+
+    void setDouble(@NotNull T object, int field, double value);
+
+}
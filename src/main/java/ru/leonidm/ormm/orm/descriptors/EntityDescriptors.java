@@ -0,0 +1,46 @@
+package ru.leonidm.ormm.orm.descriptors;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds descriptors registered as {@link ServiceLoader} services in the class loader of the entity
+ */
+public final class EntityDescriptors {
+
+    private static final Map<ClassLoader, Map<Class<?>, EntityDescriptor<?>>> DESCRIPTORS = new ConcurrentHashMap<>();
+
+    private EntityDescriptors() {
+    }
+
+    @Nullable
+    public static <T> EntityDescriptor<T> find(@NotNull Class<T> entityClass) {
+        ClassLoader classLoader = entityClass.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+
+        return (EntityDescriptor<T>) DESCRIPTORS.computeIfAbsent(classLoader, EntityDescriptors::load).get(entityClass);
+    }
+
+    @NotNull
+    private static Map<Class<?>, EntityDescriptor<?>> load(@NotNull ClassLoader classLoader) {
+        Map<Class<?>, EntityDescriptor<?>> descriptors = new ConcurrentHashMap<>();
+
+        try {
+            for (EntityDescriptor<?> descriptor : ServiceLoader.load(EntityDescriptor.class, classLoader)) {
+                descriptors.put(descriptor.getEntityClass(), descriptor);
+            }
+        } catch (ServiceConfigurationError e) {
+            // TODO: normal logger
+            System.err.println("[ORMM] Can't load entity descriptors: " + e.getMessage());
+        }
+
+        return descriptors;
+    }
+}
@@ -0,0 +1,120 @@
+package ru.leonidm.ormm.orm.mappers;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.ORMColumn;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.descriptors.EntityDescriptor;
+import ru.leonidm.ormm.utils.QueryUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the result set to the objects of one table. Everything that doesn't depend on the row
+ * (constructor, columns and their labels) is resolved once, when the table is registered
+ */
+public final class RowMapper<T> {
+
+    private static final MethodHandle NEW_INSTANCE;
+
+    static {
+        try {
+            NEW_INSTANCE = MethodHandles.publicLookup().findVirtual(EntityDescriptor.class, "newInstance",
+                    MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * @return mapper of the table or null if entity class doesn't have accessible empty constructor
+     */
+    @Nullable
+    public static <T> RowMapper<T> of(@NotNull ORMTable<T> table) {
+        Class<T> entityClass = table.getEntityClass();
+
+        MethodHandle constructor;
+        EntityDescriptor<T> descriptor = table.getDescriptor();
+        if (descriptor != null) {
+            constructor = NEW_INSTANCE.bindTo(descriptor);
+        } else {
+            try {
+                Constructor<T> emptyConstructor = entityClass.getDeclaredConstructor();
+                emptyConstructor.setAccessible(true);
+
+                constructor = MethodHandles.lookup().unreflectConstructor(emptyConstructor);
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        constructor = constructor.asType(MethodType.methodType(Object.class));
+
+        ORMColumn<T, ?>[] columns = table.getColumnsStream().toArray(ORMColumn[]::new);
+
+        String[] labels = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            labels[i] = QueryUtils.getColumnName(columns[i]);
+        }
+
+        return new RowMapper<>(table, constructor, columns, labels);
+    }
+
+    private final ORMTable<T> table;
+    private final MethodHandle constructor;
+    private final ORMColumn<T, ?>[] columns;
+    private final String[] labels;
+
+    private RowMapper(@NotNull ORMTable<T> table, @NotNull MethodHandle constructor,
+                      @NotNull ORMColumn<T, ?>[] columns, @NotNull String[] labels) {
+        this.table = table;
+        this.constructor = constructor;
+        this.columns = columns;
+        this.labels = labels;
+    }
+
+    @NotNull
+    public T map(@NotNull ResultSet resultSet) throws SQLException {
+        T t = newInstance();
+
+        for (int i = 0; i < columns.length; i++) {
+            ORMColumn<T, ?> column = columns[i];
+            column.setValue(t, column.toFieldObject(resultSet.getObject(labels[i])));
+        }
+
+        return t;
+    }
+
+    /**
+     * @param positions positions of the columns in the result set, 0 for not selected ones
+     */
+    @NotNull
+    public T map(@NotNull ResultSet resultSet, @NotNull int[] positions) throws SQLException {
+        T t = newInstance();
+
+        for (int i = 0; i < columns.length; i++) {
+            int position = positions[i];
+            if (position > 0) {
+                columns[i].setValue(t, resultSet, position);
+            }
+        }
+
+        return t;
+    }
+
+    @NotNull
+    public T newInstance() {
+        try {
+            return (T) (Object) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Can't create new instance of %s".formatted(table.getEntityClass().getName()), t);
+        }
+    }
+}
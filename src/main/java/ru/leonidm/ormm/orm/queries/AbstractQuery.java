@@ -2,14 +2,21 @@ package ru.leonidm.ormm.orm.queries;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMDatabase;
 import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.ORMTransaction;
+import ru.leonidm.ormm.orm.cache.EntityCache;
+import ru.leonidm.ormm.orm.clauses.Where;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
+import ru.leonidm.ormm.orm.thread.ORMPriority;
 import ru.leonidm.ormm.orm.thread.ORMTask;
 
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -17,23 +24,236 @@ import java.util.function.Supplier;
 public abstract class AbstractQuery<T, R> {
 
     protected final ORMTable<T> table;
+    protected final ORMTransaction transaction;
+    private Object orderKey;
+    private ORMPriority priority;
 
     protected AbstractQuery(@NotNull ORMTable<T> table) {
         this.table = table;
+        this.transaction = table.getDatabase().getCurrentTransaction();
     }
 
     @NotNull
-    public abstract String getSQLQuery();
+    public String getSQLQuery() {
+        return getSQLQuery(SQLParameters.literal());
+    }
+
+    @NotNull
+    public abstract String getSQLQuery(@NotNull SQLParameters parameters);
 
     @NotNull
     protected abstract Supplier<R> prepareSupplier();
 
+    /**
+     * @return true if query changes rows of the table. Such queries are queued to the write executor of the database
+     */
+    protected boolean isMutating() {
+        return false;
+    }
+
+    /**
+     * Queued queries with equal order keys are executed one by one in the order they were queued, while
+     * queries with different keys are executed in parallel. By default, mutating queries of one entity
+     * are ordered by its primary key
+     *
+     * @param key order key or null to use the default one
+     */
+    @NotNull
+    public AbstractQuery<T, R> orderKey(@Nullable Object key) {
+        this.orderKey = key;
+        return this;
+    }
+
+    /**
+     * Sets lane of the queued query, it is used only if {@link ru.leonidm.ormm.orm.ORMSettings#isPriorityLanes()}
+     *
+     * @param priority priority or null to use the default one
+     */
+    @NotNull
+    public AbstractQuery<T, R> priority(@Nullable ORMPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * @return lane of the queued query if priority isn't set explicitly
+     */
+    @NotNull
+    protected ORMPriority getDefaultPriority() {
+        return isMutating() ? ORMPriority.NORMAL : ORMPriority.HIGH;
+    }
+
+    /**
+     * @return primary key of the only entity changed by the query or null if it is unknown
+     */
+    @Nullable
+    protected Object getEntityKey() {
+        return null;
+    }
+
+    @Nullable
+    private Object getOrderKey() {
+        if (orderKey != null) {
+            return orderKey;
+        }
+
+        ORMColumn<T, ?> keyColumn = table.getKeyColumn();
+        Object key = isMutating() && keyColumn != null ? keyColumn.toDatabaseObject(getEntityKey()) : null;
+        // Arrays don't have value-based hash codes
+        if (key == null || key.getClass().isArray()) {
+            return null;
+        }
+
+        return new EntityKey(table, key);
+    }
+
+    @NotNull
+    private Executor getExecutor() {
+        ORMDatabase database = table.getDatabase();
+        if (isMutating() && transaction == null && database.getWriteExecutor() != database.getTaskExecutor()) {
+            // Separate writer executes queries in the order they were queued
+            return database.getWriteExecutor();
+        }
+
+        Executor executor = database.getTaskExecutor(priority != null ? priority : getDefaultPriority());
+
+        Object key = getOrderKey();
+        if (key != null) {
+            return database.getOrderedExecutor().forKey(key, executor);
+        }
+
+        return executor;
+    }
+
+    /**
+     * @return time to live of the cached result in nanoseconds or 0 if result mustn't be cached
+     */
+    protected long getResultCacheTtl() {
+        return 0;
+    }
+
+    /**
+     * @return true if identical queries that are executed at the same time can share one result
+     */
+    protected boolean isCoalesced() {
+        return false;
+    }
+
+    /**
+     * @return tables that are read by this query or changed by it if query is mutating
+     */
+    @NotNull
+    public Set<ORMTable<?>> getTables() {
+        return Set.of(table);
+    }
+
+    @NotNull
+    private Supplier<R> getTaskSupplier() {
+        Supplier<R> prepared = prepareSupplier();
+        ORMDatabase database = table.getDatabase();
+        // Nested queries, which are built while this one is executed in other thread, must join its transaction
+        Supplier<R> supplier = transaction != null ? () -> database.withTransaction(transaction, prepared) : prepared;
+
+        if (isMutating()) {
+            return () -> {
+                try {
+                    return supplier.get();
+                } finally {
+                    ORMTransaction transaction = getTransaction();
+                    for (ORMTable<?> changedTable : getTables()) {
+                        database.getResultCache().invalidate(changedTable);
+                        if (transaction != null) {
+                            transaction.addChangedTable(changedTable);
+                        }
+                    }
+
+                    database.getSingleFlight().invalidate();
+                }
+            };
+        }
+
+        long ttl = getResultCacheTtl();
+        boolean coalesce = isCoalesced();
+        if (ttl <= 0 && !coalesce) {
+            return supplier;
+        }
+
+        return () -> {
+            // Transaction can see its own uncommitted changes
+            if (getTransaction() != null) {
+                return supplier.get();
+            }
+
+            SQLParameters parameters = SQLParameters.prepared();
+            QueryKey key = QueryKey.of(this, getSQLQuery(parameters), parameters);
+
+            Supplier<R> querySupplier = coalesce ? () -> database.getSingleFlight().execute(key, supplier) : supplier;
+            if (ttl <= 0) {
+                return querySupplier.get();
+            }
+
+            Set<ORMTable<?>> tables = new HashSet<>(getTables());
+            tables.addAll(parameters.getTables());
+
+            return database.getResultCache().get(key, tables, ttl, querySupplier);
+        };
+    }
+
+    /**
+     * Evicts the entity with the primary key from the where clause or clears the whole cache of the table
+     */
+    protected final void invalidateCache(@Nullable Where where) {
+        Object key = where != null ? where.getKeyValue(table) : null;
+        updateCache(cache -> {
+            if (key != null) {
+                cache.evict(key);
+            } else {
+                cache.clear();
+            }
+        });
+    }
+
+    /**
+     * Applies the change to the entity cache of the table now or, if the query is executed in the transaction,
+     * after the transaction is committed, so other threads don't see its uncommitted changes
+     */
+    protected final void updateCache(@NotNull Consumer<EntityCache<T>> action) {
+        EntityCache<T> cache = table.getCache();
+        if (cache == null) {
+            return;
+        }
+
+        ORMTransaction transaction = getTransaction();
+        if (transaction != null) {
+            transaction.afterCommit(() -> action.accept(cache));
+        } else {
+            action.accept(cache);
+        }
+    }
+
+    /**
+     * @return entity cache of the table or null if it is disabled or the query is executed in the transaction,
+     * which can see its own uncommitted changes
+     */
+    @Nullable
+    protected final EntityCache<T> getReadCache() {
+        return getTransaction() == null ? table.getCache() : null;
+    }
+
+    /**
+     * @return transaction this query was built in or is executed in, otherwise null
+     */
+    @Nullable
+    protected final ORMTransaction getTransaction() {
+        return transaction != null ? transaction : table.getDatabase().getCurrentTransaction();
+    }
+
     @NotNull
     protected final Supplier<R> getUpdateSupplier() {
         return () -> {
-            try (OrmConnection connection = table.getDatabase().getConnection();
-                 Statement statement = connection.createStatement()) {
-                int changed = statement.executeUpdate(getSQLQuery());
+            try (OrmConnection connection = getConnection();
+                 QueryStatement statement = createStatement(connection)) {
+                int changed = statement.executeUpdate();
 
                 try {
                     return (R) (Integer) changed;
@@ -46,9 +266,33 @@ public abstract class AbstractQuery<T, R> {
         };
     }
 
+    /**
+     * @return connection of the transaction this query was built in or is completed in, otherwise
+     * connection from the database
+     */
+    @NotNull
+    protected final OrmConnection getConnection() throws SQLException {
+        ORMTransaction transaction = getTransaction();
+        if (transaction != null) {
+            return transaction.getConnection();
+        }
+
+        return table.getDatabase().getConnection();
+    }
+
+    @NotNull
+    protected final QueryStatement createStatement(@NotNull OrmConnection connection) throws SQLException {
+        return createStatement(connection, false);
+    }
+
+    @NotNull
+    protected final QueryStatement createStatement(@NotNull OrmConnection connection, boolean generatedKeys) throws SQLException {
+        return QueryStatement.create(connection, this, generatedKeys);
+    }
+
     @NotNull
     public final ORMTask<R> queue(@NotNull Consumer<R> consumer, @Nullable Lock lock) {
-        ORMTask<R> task = new ORMTask<>(table.getDatabase(), prepareSupplier(), consumer, lock, getSQLQuery());
+        ORMTask<R> task = new ORMTask<>(table.getDatabase(), getTaskSupplier(), consumer, lock, this::getSQLQuery, getExecutor());
         task.start();
         return task;
     }
@@ -74,17 +318,18 @@ public abstract class AbstractQuery<T, R> {
 
     @NotNull
     public final CompletableFuture<R> async() {
-        ORMDatabase database = table.getDatabase();
-        String query = getSQLQuery();
+        CompletableFuture<R> future = new CompletableFuture<>();
 
-        return CompletableFuture.supplyAsync(() -> {
-            if (database.getSettings().isLogQueries()) {
-                // TODO: normal logger
-                System.out.println("[ORMM] " + query);
+        ORMTask<R> task = new ORMTask<>(table.getDatabase(), getTaskSupplier(), future::complete, null, this::getSQLQuery, getExecutor());
+        task.onFinally(() -> {
+            RuntimeException exception = task.getException();
+            if (exception != null) {
+                future.completeExceptionally(exception);
             }
+        });
+        task.start();
 
-            return prepareSupplier().get();
-        }, database.getTaskExecutor());
+        return future;
     }
 
     @Nullable
@@ -94,7 +339,7 @@ public abstract class AbstractQuery<T, R> {
 
     @Nullable
     public final R complete(@Nullable Lock lock) {
-        ORMTask<R> task = new ORMTask<>(table.getDatabase(), prepareSupplier(), o -> {}, lock, getSQLQuery());
+        ORMTask<R> task = new ORMTask<>(table.getDatabase(), getTaskSupplier(), o -> {}, lock, this::getSQLQuery);
         task.run();
         return task.getResult();
     }
@@ -103,4 +348,7 @@ public abstract class AbstractQuery<T, R> {
     public String toString() {
         return this.getSQLQuery();
     }
+
+    private record EntityKey(@NotNull ORMTable<?> table, @NotNull Object key) {
+    }
 }
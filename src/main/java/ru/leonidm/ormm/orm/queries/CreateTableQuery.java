@@ -16,7 +16,7 @@ public final class CreateTableQuery<T> extends AbstractQuery<T, Void> {
 
     @Override
     @NotNull
-    public String getSQLQuery() {
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
         StringBuilder queryBuilder = new StringBuilder();
 
         queryBuilder.append("CREATE TABLE IF NOT EXISTS ").append(QueryUtils.getTableName(table)).append(" (");
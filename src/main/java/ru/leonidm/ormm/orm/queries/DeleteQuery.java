@@ -1,9 +1,11 @@
 package ru.leonidm.ormm.orm.queries;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.clauses.Where;
 import ru.leonidm.ormm.orm.exceptions.UnsafeQueryException;
+import ru.leonidm.ormm.orm.thread.ORMPriority;
 import ru.leonidm.ormm.utils.QueryUtils;
 
 import java.util.function.Supplier;
@@ -31,13 +33,27 @@ public final class DeleteQuery<T> extends AbstractQuery<T, Integer> {
 
     @Override
     @NotNull
-    public String getSQLQuery() {
+    public DeleteQuery<T> orderKey(@Nullable Object key) {
+        super.orderKey(key);
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public DeleteQuery<T> priority(@Nullable ORMPriority priority) {
+        super.priority(priority);
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
         StringBuilder queryBuilder = new StringBuilder();
 
         queryBuilder.append("DELETE FROM ").append(QueryUtils.getTableName(table));
 
         if (where != null) {
-            queryBuilder.append(" WHERE ").append(where.build(table));
+            queryBuilder.append(" WHERE ").append(where.build(table, parameters));
         } else {
             if (!table.getMeta().allowUnsafeOperations()) {
                 throw new UnsafeQueryException("\"WHERE\" is not specified, so the query is unsafe");
@@ -51,9 +67,27 @@ public final class DeleteQuery<T> extends AbstractQuery<T, Integer> {
         return queryBuilder.toString();
     }
 
+    @Override
+    protected boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    @Nullable
+    protected Object getEntityKey() {
+        return where != null ? where.getKeyValue(table) : null;
+    }
+
     @Override
     @NotNull
     protected Supplier<Integer> prepareSupplier() {
-        return getUpdateSupplier();
+        Supplier<Integer> supplier = getUpdateSupplier();
+        return () -> {
+            try {
+                return supplier.get();
+            } finally {
+                invalidateCache(where);
+            }
+        };
     }
 }
@@ -0,0 +1,41 @@
+package ru.leonidm.ormm.orm.queries;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Identity of the rendered query: its class, SQL with placeholders and values bound to them. Class is a part
+ * of the key, because queries with different results can have the same SQL, for example single select
+ * and select with limit 1
+ */
+public record QueryKey(@NotNull Class<?> queryClass, @NotNull String sql, @Nullable Object @NotNull [] values) {
+
+    @NotNull
+    public static QueryKey of(@NotNull AbstractQuery<?, ?> query, @NotNull String sql, @NotNull SQLParameters parameters) {
+        return new QueryKey(query.getClass(), sql, parameters.getValues().toArray());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QueryKey key)) {
+            return false;
+        }
+        return queryClass == key.queryClass && sql.equals(key.sql) && Arrays.deepEquals(values, key.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * queryClass.hashCode() + sql.hashCode()) + Arrays.deepHashCode(values);
+    }
+
+    @Override
+    @NotNull
+    public String toString() {
+        return queryClass.getSimpleName() + " " + sql + " " + Arrays.deepToString(values);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.leonidm.ormm.orm.queries;
+
+import org.jetbrains.annotations.NotNull;
+import ru.leonidm.ormm.orm.connection.OrmConnection;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public final class QueryStatement implements AutoCloseable {
+
+    private final OrmConnection connection;
+    private final Statement statement;
+    private final String query;
+    private final boolean generatedKeys;
+
+    private QueryStatement(@NotNull OrmConnection connection, @NotNull Statement statement, @NotNull String query,
+                           boolean generatedKeys) {
+        this.connection = connection;
+        this.statement = statement;
+        this.query = query;
+        this.generatedKeys = generatedKeys;
+    }
+
+    @NotNull
+    static QueryStatement create(@NotNull OrmConnection connection, @NotNull AbstractQuery<?, ?> query,
+                                 boolean generatedKeys) throws SQLException {
+        if (!query.table.getDatabase().getSettings().isPreparedStatements()) {
+            return new QueryStatement(connection, connection.createStatement(), query.getSQLQuery(), generatedKeys);
+        }
+
+        SQLParameters parameters = SQLParameters.prepared();
+        String sql = query.getSQLQuery(parameters);
+
+        PreparedStatement statement = connection.prepareCachedStatement(sql, generatedKeys);
+
+        try {
+            parameters.bind(statement);
+        } catch (SQLException e) {
+            connection.releaseStatement(sql, generatedKeys, statement);
+            throw e;
+        }
+
+        return new QueryStatement(connection, statement, sql, generatedKeys);
+    }
+
+    @NotNull
+    public ResultSet executeQuery() throws SQLException {
+        if (statement instanceof PreparedStatement preparedStatement) {
+            return preparedStatement.executeQuery();
+        }
+
+        return statement.executeQuery(query);
+    }
+
+    public int executeUpdate() throws SQLException {
+        if (statement instanceof PreparedStatement preparedStatement) {
+            return preparedStatement.executeUpdate();
+        }
+
+        if (generatedKeys) {
+            return statement.executeUpdate(query, Statement.RETURN_GENERATED_KEYS);
+        }
+
+        return statement.executeUpdate(query);
+    }
+
+    public void setFetchSize(int fetchSize) throws SQLException {
+        statement.setFetchSize(fetchSize);
+    }
+
+    @NotNull
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return statement.getGeneratedKeys();
+    }
+
+    @NotNull
+    public String getQuery() {
+        return query;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (statement instanceof PreparedStatement preparedStatement) {
+            if (!preparedStatement.isClosed() && preparedStatement.getFetchSize() != 0) {
+                preparedStatement.setFetchSize(0);
+            }
+
+            connection.releaseStatement(query, generatedKeys, preparedStatement);
+        } else {
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ru.leonidm.ormm.orm.queries;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.queries.select.AbstractSelectQuery;
+import ru.leonidm.ormm.utils.ArrayConverter;
+import ru.leonidm.ormm.utils.FormatUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects values of the query while it is being rendered. In literal mode values are written
+ * straight into the SQL, in prepared mode they are replaced with {@code ?} and bound later
+ */
+public final class SQLParameters {
+
+    @NotNull
+    public static SQLParameters literal() {
+        return new SQLParameters(false);
+    }
+
+    @NotNull
+    public static SQLParameters prepared() {
+        return new SQLParameters(true);
+    }
+
+    private final boolean prepared;
+    private final List<Object> values;
+    private final Set<ORMTable<?>> tables = new HashSet<>();
+
+    private SQLParameters(boolean prepared) {
+        this.prepared = prepared;
+        this.values = prepared ? new ArrayList<>() : Collections.emptyList();
+    }
+
+    public boolean isPrepared() {
+        return prepared;
+    }
+
+    /**
+     * @param databaseObject object that was already converted to the database format
+     * @return SQL representation of the value: literal or placeholder
+     */
+    @NotNull
+    public String write(@Nullable Object databaseObject) {
+        if (databaseObject instanceof AbstractSelectQuery<?, ?, ?, ?> selectQuery) {
+            tables.addAll(selectQuery.getTables());
+            return '(' + selectQuery.getSQLQuery(this) + ')';
+        }
+
+        if (!prepared) {
+            return FormatUtils.toStringSQLValue(databaseObject);
+        }
+
+        values.add(databaseObject);
+        return "?";
+    }
+
+    @NotNull
+    @Unmodifiable
+    public List<Object> getValues() {
+        return Collections.unmodifiableList(values);
+    }
+
+    /**
+     * @return tables of the subqueries that were written
+     */
+    @NotNull
+    @Unmodifiable
+    public Set<ORMTable<?>> getTables() {
+        return Collections.unmodifiableSet(tables);
+    }
+
+    public void bind(@NotNull PreparedStatement statement) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            bind(statement, i + 1, values.get(i));
+        }
+    }
+
+    /**
+     * Binds value the same way as {@link FormatUtils#toStringSQLValue(Object)} writes it
+     */
+    public static void bind(@NotNull PreparedStatement statement, int index, @Nullable Object object) throws SQLException {
+        if (object == null) {
+            statement.setNull(index, Types.NULL);
+        } else if (object instanceof Integer i) {
+            statement.setInt(index, i);
+        } else if (object instanceof Long l) {
+            statement.setLong(index, l);
+        } else if (object instanceof String string) {
+            statement.setString(index, string);
+        } else if (object instanceof Double d) {
+            statement.setDouble(index, d);
+        } else if (object instanceof Float f) {
+            statement.setFloat(index, f);
+        } else if (object instanceof Short s) {
+            statement.setShort(index, s);
+        } else if (object instanceof Byte b) {
+            statement.setByte(index, b);
+        } else if (object instanceof Character c) {
+            statement.setInt(index, c);
+        } else if (object instanceof Boolean bool) {
+            statement.setInt(index, bool ? 1 : 0);
+        } else if (object instanceof byte[] bytes) {
+            statement.setBytes(index, bytes);
+        } else if (object instanceof boolean[] booleans) {
+            statement.setBytes(index, ArrayConverter.toBytes(booleans));
+        } else if (object instanceof Boolean[] booleans) {
+            statement.setBytes(index, ArrayConverter.toBytes(booleans));
+        } else if (object instanceof Byte[] bytes) {
+            statement.setBytes(index, ArrayConverter.toBytes(bytes));
+        } else if (object instanceof short[] shorts) {
+            statement.setBytes(index, ArrayConverter.toBytes(shorts));
+        } else if (object instanceof Short[] shorts) {
+            statement.setBytes(index, ArrayConverter.toBytes(shorts));
+        } else if (object instanceof int[] ints) {
+            statement.setBytes(index, ArrayConverter.toBytes(ints));
+        } else if (object instanceof Integer[] ints) {
+            statement.setBytes(index, ArrayConverter.toBytes(ints));
+        } else if (object instanceof long[] longs) {
+            statement.setBytes(index, ArrayConverter.toBytes(longs));
+        } else if (object instanceof Long[] longs) {
+            statement.setBytes(index, ArrayConverter.toBytes(longs));
+        } else if (object instanceof float[] floats) {
+            statement.setBytes(index, ArrayConverter.toBytes(floats));
+        } else if (object instanceof Float[] floats) {
+            statement.setBytes(index, ArrayConverter.toBytes(floats));
+        } else if (object instanceof double[] doubles) {
+            statement.setBytes(index, ArrayConverter.toBytes(doubles));
+        } else if (object instanceof Double[] doubles) {
+            statement.setBytes(index, ArrayConverter.toBytes(doubles));
+        } else if (object instanceof char[] chars) {
+            statement.setBytes(index, ArrayConverter.toBytes(chars));
+        } else if (object instanceof Character[] chars) {
+            statement.setBytes(index, ArrayConverter.toBytes(chars));
+        } else {
+            statement.setString(index, object.toString());
+        }
+    }
+}
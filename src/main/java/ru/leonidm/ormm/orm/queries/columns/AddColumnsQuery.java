@@ -6,6 +6,7 @@ import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMDriver;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.queries.AbstractQuery;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
 import ru.leonidm.ormm.utils.QueryUtils;
 
 import java.util.List;
@@ -36,7 +37,7 @@ public final class AddColumnsQuery<T> extends AbstractQuery<T, Integer> {
 
     @Override
     @NotNull
-    public String getSQLQuery() {
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
         ORMDriver driver = table.getDatabase().getDriver();
 
         StringBuilder queryBuilder = new StringBuilder();
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.general.ColumnData;
 import ru.leonidm.ormm.orm.queries.AbstractQuery;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
 import ru.leonidm.ormm.utils.QueryUtils;
 
 import java.util.List;
@@ -31,7 +32,7 @@ public final class DropColumnsQuery<T> extends AbstractQuery<T, Integer> {
 
     @Override
     @NotNull
-    public String getSQLQuery() {
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
         StringBuilder queryBuilder = new StringBuilder();
 
         return switch (table.getDatabase().getDriver()) {
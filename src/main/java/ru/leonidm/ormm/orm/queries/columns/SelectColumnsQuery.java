@@ -5,6 +5,7 @@ import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
 import ru.leonidm.ormm.orm.general.ColumnData;
 import ru.leonidm.ormm.orm.queries.AbstractQuery;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
 import ru.leonidm.ormm.utils.QueryUtils;
 
 import java.sql.ResultSet;
@@ -22,7 +23,7 @@ public final class SelectColumnsQuery<T> extends AbstractQuery<T, List<ColumnDat
 
     @Override
     @NotNull
-    public String getSQLQuery() {
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
         return switch (table.getDatabase().getDriver()) {
             case MYSQL -> "SELECT column_name, data_type, character_maximum_length " +
                     "FROM information_schema.columns " +
@@ -39,7 +40,7 @@ public final class SelectColumnsQuery<T> extends AbstractQuery<T, List<ColumnDat
         return () -> {
             List<ColumnData> out = new ArrayList<>();
 
-            try (OrmConnection connection = table.getDatabase().getConnection();
+            try (OrmConnection connection = getConnection();
                  Statement statement = connection.createStatement();
                  ResultSet resultSet = statement.executeQuery(getSQLQuery())) {
                 while (resultSet.next()) {
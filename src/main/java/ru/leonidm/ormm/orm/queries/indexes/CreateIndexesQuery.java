@@ -8,6 +8,7 @@ import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
 import ru.leonidm.ormm.orm.general.SQLType;
 import ru.leonidm.ormm.orm.queries.AbstractQuery;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
 import ru.leonidm.ormm.utils.QueryUtils;
 
 import java.sql.ResultSet;
@@ -107,7 +108,7 @@ public final class CreateIndexesQuery<T> extends AbstractQuery<T, Void> {
 
     @Override
     @NotNull
-    public String getSQLQuery() {
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
         StringBuilder queryBuilder = new StringBuilder();
 
         switch (table.getDatabase().getDriver()) {
@@ -153,7 +154,7 @@ public final class CreateIndexesQuery<T> extends AbstractQuery<T, Void> {
     @NotNull
     protected Supplier<Void> prepareSupplier() {
         return () -> {
-            try (OrmConnection connection = table.getDatabase().getConnection();
+            try (OrmConnection connection = getConnection();
                  Statement statement = connection.createStatement()) {
 
                 switch (table.getDatabase().getDriver()) {
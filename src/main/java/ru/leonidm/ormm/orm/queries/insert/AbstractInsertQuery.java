@@ -1,16 +1,17 @@
 package ru.leonidm.ormm.orm.queries.insert;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMDriver;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
 import ru.leonidm.ormm.orm.queries.AbstractQuery;
-import ru.leonidm.ormm.utils.FormatUtils;
+import ru.leonidm.ormm.orm.queries.QueryStatement;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
 import ru.leonidm.ormm.utils.QueryUtils;
 
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -40,7 +41,7 @@ public sealed abstract class AbstractInsertQuery<T> extends AbstractQuery<T, T>
 
     @Override
     @NotNull
-    public String getSQLQuery() {
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
         StringBuilder queryBuilder = new StringBuilder();
 
         if (ignore && onDuplicateUpdate) {
@@ -86,7 +87,7 @@ public sealed abstract class AbstractInsertQuery<T> extends AbstractQuery<T, T>
         columns.forEach(column -> {
             Object value = values.get(column.getName());
             Object finalValue = column.toDatabaseObject(value);
-            queryBuilder.append(FormatUtils.toStringSQLValue(finalValue)).append(", ");
+            queryBuilder.append(parameters.write(finalValue)).append(", ");
         });
         queryBuilder.delete(queryBuilder.length() - 2, queryBuilder.length()).append(")");
 
@@ -114,7 +115,7 @@ public sealed abstract class AbstractInsertQuery<T> extends AbstractQuery<T, T>
                 case MYSQL -> {
                     queryBuilder.append(" ON DUPLICATE KEY UPDATE ");
 
-                    updateColumns.forEach(column -> appendColumn(column, queryBuilder));
+                    updateColumns.forEach(column -> appendColumn(column, queryBuilder, parameters));
                     queryBuilder.delete(queryBuilder.length() - 2, queryBuilder.length());
                 }
             }
@@ -123,28 +124,54 @@ public sealed abstract class AbstractInsertQuery<T> extends AbstractQuery<T, T>
         return queryBuilder.toString();
     }
 
-    private void appendColumn(@NotNull ORMColumn<T, ?> column, @NotNull StringBuilder queryBuilder) {
+    private void appendColumn(@NotNull ORMColumn<T, ?> column, @NotNull StringBuilder queryBuilder,
+                              @NotNull SQLParameters parameters) {
         Object value = this.values.get(column.getName());
         Object finalValue = column.toDatabaseObject(value);
-        queryBuilder.append(column.getName()).append(" = ").append(FormatUtils.toStringSQLValue(finalValue)).append(", ");
+        queryBuilder.append(column.getName()).append(" = ").append(parameters.write(finalValue)).append(", ");
+    }
+
+    @Override
+    protected boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    @Nullable
+    protected Object getEntityKey() {
+        ORMColumn<T, ?> keyColumn = table.getKeyColumn();
+        return keyColumn != null ? values.get(keyColumn.getName()) : null;
     }
 
     @Override
     @NotNull
     protected Supplier<T> prepareSupplier() {
         return () -> {
-            try (OrmConnection connection = table.getDatabase().getConnection();
-                 Statement statement = connection.createStatement()) {
-                int affected = switch (this.table.getDatabase().getDriver()) {
-                    case MYSQL -> statement.executeUpdate(this.getSQLQuery(), Statement.RETURN_GENERATED_KEYS);
-                    case SQLITE -> statement.executeUpdate(this.getSQLQuery());
-                };
+            boolean generatedKeys = switch (this.table.getDatabase().getDriver()) {
+                case MYSQL -> true;
+                case SQLITE -> false;
+            };
+
+            try (OrmConnection connection = getConnection();
+                 QueryStatement statement = createStatement(connection, generatedKeys)) {
+                int affected = statement.executeUpdate();
 
                 if (affected == 0) {
                     return null;
                 }
 
-                return this.getObjectToReturn(statement);
+                T t = this.getObjectToReturn(statement);
+
+                updateCache(cache -> {
+                    if (onDuplicateUpdate) {
+                        // Row in the database may have other values
+                        cache.evictObject(t);
+                    } else {
+                        cache.put(t);
+                    }
+                });
+
+                return t;
             } catch (SQLException e) {
                 throw new IllegalStateException(e);
             }
@@ -152,5 +179,5 @@ public sealed abstract class AbstractInsertQuery<T> extends AbstractQuery<T, T>
     }
 
     @NotNull
-    protected abstract T getObjectToReturn(@NotNull Statement statement) throws SQLException;
+    protected abstract T getObjectToReturn(@NotNull QueryStatement statement) throws SQLException;
 }
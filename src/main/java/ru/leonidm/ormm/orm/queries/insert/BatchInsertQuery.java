@@ -0,0 +1,281 @@
+package ru.leonidm.ormm.orm.queries.insert;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.ORMColumn;
+import ru.leonidm.ormm.orm.ORMDriver;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.connection.OrmConnection;
+import ru.leonidm.ormm.orm.queries.AbstractQuery;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
+import ru.leonidm.ormm.orm.thread.ORMPriority;
+import ru.leonidm.ormm.utils.ClassUtils;
+import ru.leonidm.ormm.utils.QueryUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Inserts many objects in one transaction using JDBC batches. Values are always bound as parameters.
+ * Result contains inserted objects in the order they were given, objects that weren't inserted
+ * because of {@link #ignore(boolean)} are omitted
+ */
+public final class BatchInsertQuery<T> extends AbstractQuery<T, List<T>> {
+
+    private final List<T> objects;
+    private boolean ignore = false;
+    private int batchSize;
+
+    public BatchInsertQuery(@NotNull ORMTable<T> table, @NotNull Collection<T> objects) {
+        super(table);
+
+        this.objects = List.copyOf(objects);
+        this.batchSize = table.getDatabase().getSettings().getBatchSize();
+    }
+
+    @NotNull
+    public BatchInsertQuery<T> ignore(boolean ignore) {
+        this.ignore = ignore;
+        return this;
+    }
+
+    @NotNull
+    public BatchInsertQuery<T> batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public BatchInsertQuery<T> orderKey(@Nullable Object key) {
+        super.orderKey(key);
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public BatchInsertQuery<T> priority(@Nullable ORMPriority priority) {
+        super.priority(priority);
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
+        return getSQLQuery(getColumns(!objects.isEmpty() && needsGeneratedKey(objects.get(0))));
+    }
+
+    @NotNull
+    private String getSQLQuery(@NotNull List<ORMColumn<T, ?>> columns) {
+        StringBuilder queryBuilder = new StringBuilder();
+
+        queryBuilder.append("INSERT ");
+
+        if (ignore) {
+            queryBuilder.append(table.getDatabase().getDriver().get(ORMDriver.Key.INSERT_IGNORE)).append(' ');
+        }
+
+        queryBuilder.append("INTO ").append(QueryUtils.getTableName(table)).append(" (");
+
+        columns.forEach(column -> queryBuilder.append(column.getName()).append(", "));
+        queryBuilder.delete(queryBuilder.length() - 2, queryBuilder.length()).append(") VALUES (");
+
+        columns.forEach(column -> queryBuilder.append("?, "));
+        queryBuilder.delete(queryBuilder.length() - 2, queryBuilder.length()).append(')');
+
+        return queryBuilder.toString();
+    }
+
+    @NotNull
+    private List<ORMColumn<T, ?>> getColumns(boolean generatedKey) {
+        return table.getColumnsStream()
+                .filter(column -> !generatedKey || !column.getMeta().autoIncrement())
+                .toList();
+    }
+
+    private boolean needsGeneratedKey(@NotNull T object) {
+        ORMColumn<T, ?> keyColumn = table.getKeyColumn();
+        if (keyColumn == null || !keyColumn.getMeta().autoIncrement()) {
+            return false;
+        }
+
+        Object key = keyColumn.getValue(object);
+        return key == null || key instanceof Number number && number.longValue() == 0;
+    }
+
+    @Override
+    protected boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    @NotNull
+    protected ORMPriority getDefaultPriority() {
+        return ORMPriority.LOW;
+    }
+
+    @Override
+    @NotNull
+    protected Supplier<List<T>> prepareSupplier() {
+        return () -> {
+            if (objects.isEmpty()) {
+                return List.of();
+            }
+
+            List<Integer> withKeys = new ArrayList<>();
+            List<Integer> withoutKeys = new ArrayList<>();
+            for (int i = 0; i < objects.size(); i++) {
+                (needsGeneratedKey(objects.get(i)) ? withoutKeys : withKeys).add(i);
+            }
+
+            boolean[] inserted = new boolean[objects.size()];
+
+            try (OrmConnection connection = getConnection()) {
+                boolean ownTransaction = connection.getAutoCommit();
+                if (ownTransaction) {
+                    connection.setAutoCommit(false);
+                }
+
+                try {
+                    insert(connection, withKeys, false, inserted);
+                    insert(connection, withoutKeys, true, inserted);
+
+                    if (ownTransaction) {
+                        connection.commit();
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    if (ownTransaction) {
+                        connection.rollback();
+                    }
+
+                    throw e;
+                } finally {
+                    if (ownTransaction) {
+                        connection.setAutoCommit(true);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+
+            List<T> result = new ArrayList<>(objects.size());
+            for (int i = 0; i < objects.size(); i++) {
+                if (inserted[i]) {
+                    result.add(objects.get(i));
+                }
+            }
+
+            updateCache(cache -> result.forEach(cache::put));
+
+            return result;
+        };
+    }
+
+    /**
+     * @param indexes indexes of the objects to insert
+     * @param inserted flags of the inserted objects by their indexes
+     */
+    private void insert(@NotNull OrmConnection connection, @NotNull List<Integer> indexes, boolean generatedKey,
+                        boolean @NotNull [] inserted) throws SQLException {
+        if (indexes.isEmpty()) {
+            return;
+        }
+
+        List<ORMColumn<T, ?>> columns = getColumns(generatedKey);
+        String sql = getSQLQuery(columns);
+
+        ORMDriver driver = table.getDatabase().getDriver();
+        // SQLite returns only the last generated key of the batch, so such rows are inserted one by one
+        boolean batched = !generatedKey || driver == ORMDriver.MYSQL;
+
+        PreparedStatement statement = connection.prepareCachedStatement(sql, generatedKey && driver == ORMDriver.MYSQL);
+        try {
+            if (!batched) {
+                for (int index : indexes) {
+                    T object = objects.get(index);
+                    bind(statement, columns, object);
+
+                    if (statement.executeUpdate() == 0) {
+                        continue;
+                    }
+
+                    try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            setGeneratedKey(object, generatedKeys);
+                        }
+                    }
+
+                    inserted[index] = true;
+                }
+
+                return;
+            }
+
+            for (int from = 0; from < indexes.size(); from += batchSize) {
+                List<Integer> chunk = indexes.subList(from, Math.min(from + batchSize, indexes.size()));
+
+                for (int index : chunk) {
+                    bind(statement, columns, objects.get(index));
+                    statement.addBatch();
+                }
+
+                int[] counts = statement.executeBatch();
+
+                ResultSet generatedKeys = generatedKey ? statement.getGeneratedKeys() : null;
+                try {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (i < counts.length && counts[i] == 0) {
+                            continue;
+                        }
+
+                        T object = objects.get(chunk.get(i));
+                        if (generatedKeys != null && generatedKeys.next()) {
+                            setGeneratedKey(object, generatedKeys);
+                        }
+
+                        inserted[chunk.get(i)] = true;
+                    }
+                } finally {
+                    if (generatedKeys != null) {
+                        generatedKeys.close();
+                    }
+                }
+            }
+        } finally {
+            statement.clearBatch();
+            connection.releaseStatement(sql, generatedKey && driver == ORMDriver.MYSQL, statement);
+        }
+    }
+
+    private void bind(@NotNull PreparedStatement statement, @NotNull List<ORMColumn<T, ?>> columns,
+                      @NotNull T object) throws SQLException {
+        for (int i = 0; i < columns.size(); i++) {
+            ORMColumn<T, ?> column = columns.get(i);
+            SQLParameters.bind(statement, i + 1, column.toDatabaseObject(column.getValue(object)));
+        }
+    }
+
+    private void setGeneratedKey(@NotNull T object, @Nullable ResultSet generatedKeys) throws SQLException {
+        ORMColumn<T, ?> keyColumn = table.getKeyColumn();
+        if (keyColumn == null || generatedKeys == null) {
+            return;
+        }
+
+        if (ClassUtils.isInteger(keyColumn.getFieldClass())) {
+            keyColumn.setValue(object, generatedKeys.getInt(1));
+        } else if (ClassUtils.isLong(keyColumn.getFieldClass())) {
+            keyColumn.setValue(object, generatedKeys.getLong(1));
+        } else {
+            throw new IllegalStateException("Got wrong @PrimaryKey with wrong field class");
+        }
+    }
+}
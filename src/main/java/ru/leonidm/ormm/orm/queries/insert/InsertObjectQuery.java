@@ -1,10 +1,13 @@
 package ru.leonidm.ormm.orm.queries.insert;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.queries.QueryStatement;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
+import ru.leonidm.ormm.orm.thread.ORMPriority;
 
 import java.sql.SQLException;
-import java.sql.Statement;
 
 public final class InsertObjectQuery<T> extends AbstractInsertQuery<T> {
 
@@ -18,17 +21,31 @@ public final class InsertObjectQuery<T> extends AbstractInsertQuery<T> {
 
     @Override
     @NotNull
-    public String getSQLQuery() {
+    public InsertObjectQuery<T> orderKey(@Nullable Object key) {
+        super.orderKey(key);
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public InsertObjectQuery<T> priority(@Nullable ORMPriority priority) {
+        super.priority(priority);
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
         table.getColumnsStream().forEach(column -> {
             values.computeIfAbsent(column.getName(), k -> column.getValue(object));
         });
 
-        return super.getSQLQuery();
+        return super.getSQLQuery(parameters);
     }
 
     @Override
     @NotNull
-    protected T getObjectToReturn(@NotNull Statement statement) throws SQLException {
+    protected T getObjectToReturn(@NotNull QueryStatement statement) throws SQLException {
         return object;
     }
 }
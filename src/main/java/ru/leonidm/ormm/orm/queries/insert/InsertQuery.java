@@ -4,12 +4,13 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.queries.QueryStatement;
+import ru.leonidm.ormm.orm.thread.ORMPriority;
 import ru.leonidm.ormm.utils.ClassUtils;
 import ru.leonidm.ormm.utils.ReflectionUtils;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 public final class InsertQuery<T> extends AbstractInsertQuery<T> {
 
@@ -29,7 +30,21 @@ public final class InsertQuery<T> extends AbstractInsertQuery<T> {
 
     @Override
     @NotNull
-    protected T getObjectToReturn(@NotNull Statement statement) throws SQLException {
+    public InsertQuery<T> orderKey(@Nullable Object key) {
+        super.orderKey(key);
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public InsertQuery<T> priority(@Nullable ORMPriority priority) {
+        super.priority(priority);
+        return this;
+    }
+
+    @Override
+    @NotNull
+    protected T getObjectToReturn(@NotNull QueryStatement statement) throws SQLException {
         T t = ReflectionUtils.getNewInstance(table.getEntityClass());
 
         table.getColumnsStream().forEach(column ->
@@ -6,22 +6,30 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 import ru.leonidm.ormm.orm.ORMColumn;
+import ru.leonidm.ormm.orm.ORMDriver;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.clauses.JoinType;
 import ru.leonidm.ormm.orm.clauses.JoinWhere;
 import ru.leonidm.ormm.orm.clauses.Order;
 import ru.leonidm.ormm.orm.clauses.Where;
 import ru.leonidm.ormm.orm.queries.AbstractQuery;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
+import ru.leonidm.ormm.orm.thread.ORMPriority;
 import ru.leonidm.ormm.utils.QueryUtils;
 
+import java.sql.ResultSet;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 public sealed abstract class AbstractSelectQuery<O extends AbstractSelectQuery<O, T, R, J>, T, R, J> extends AbstractQuery<T, R>
@@ -34,6 +42,7 @@ public sealed abstract class AbstractSelectQuery<O extends AbstractSelectQuery<O
     protected String group = null;
     protected int limit = 0;
     protected int offset = 0;
+    protected long resultCacheTtl;
 
     public AbstractSelectQuery(@NotNull ORMTable<T> table) {
         super(table);
@@ -41,6 +50,8 @@ public sealed abstract class AbstractSelectQuery<O extends AbstractSelectQuery<O
         this.columns = table.getColumnsStream()
                 .map(ORMColumn::getName)
                 .toArray(String[]::new);
+
+        this.resultCacheTtl = TimeUnit.MILLISECONDS.toNanos(table.getMeta().resultCacheMillis());
     }
 
     @NotNull
@@ -81,6 +92,67 @@ public sealed abstract class AbstractSelectQuery<O extends AbstractSelectQuery<O
         return (O) this;
     }
 
+    /**
+     * Caches result of the query in {@link ru.leonidm.ormm.orm.ORMDatabase#getResultCache()} by its SQL and values.
+     * Result is invalidated by any change of the query's tables through ORMM, including joined ones
+     *
+     * @param ttl time to live of the result, zero disables the cache
+     */
+    @NotNull
+    public O cached(@NotNull Duration ttl) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("Time to live must not be negative");
+        }
+
+        this.resultCacheTtl = ttl.toNanos();
+        return (O) this;
+    }
+
+    @Override
+    @NotNull
+    public O orderKey(@Nullable Object key) {
+        super.orderKey(key);
+        return (O) this;
+    }
+
+    @Override
+    @NotNull
+    public O priority(@Nullable ORMPriority priority) {
+        super.priority(priority);
+        return (O) this;
+    }
+
+    @Override
+    protected long getResultCacheTtl() {
+        return resultCacheTtl;
+    }
+
+    @Override
+    protected boolean isCoalesced() {
+        return table.getDatabase().getSettings().isCoalesceSelects();
+    }
+
+    /**
+     * @return queried table, joined tables and tables of the loaded foreign keys
+     */
+    @Override
+    @NotNull
+    public Set<ORMTable<?>> getTables() {
+        Set<ORMTable<?>> tables = new HashSet<>();
+        tables.add(table);
+
+        table.getColumnsStream()
+                .filter(column -> column.getMeta().foreignKey() && !column.isLazyReference())
+                .forEach(column -> tables.add(column.getJoinColumn().getTable()));
+
+        for (Join<J> join : joins) {
+            tables.add(join.table);
+            tables.add(join.joinedTable);
+        }
+
+        return tables;
+    }
+
     private void validateTable(@Nullable ORMTable<?> ormTable, @Nullable ORMTable<?> joinedTable, @NotNull String tableKey,
                                @NotNull String joinedTableKey) {
         if (ormTable == null) {
@@ -152,36 +224,28 @@ public sealed abstract class AbstractSelectQuery<O extends AbstractSelectQuery<O
 
     @Override
     @NotNull
-    public final String getSQLQuery() {
+    public final String getSQLQuery(@NotNull SQLParameters parameters) {
         StringBuilder queryBuilder = new StringBuilder();
 
         queryBuilder.append("SELECT ");
 
-        switch (table.getDatabase().getDriver()) {
-            case MYSQL -> {
-                Arrays.stream(columns).forEach(column -> {
-                    writeColumn(queryBuilder, column).append(", ");
-                });
-
-                joins.forEach(join -> {
-                    for (ORMColumn<?, ?> column : join.columns.keySet()) {
-                        queryBuilder.append(QueryUtils.getTableName(column)).append('.').append(column.getName()).append(", ");
-                    }
-                });
+        for (String column : columns) {
+            writeColumn(queryBuilder, column);
+            if (table.getDatabase().getDriver() == ORMDriver.SQLITE) {
+                queryBuilder.append(" AS \"");
+                writeColumn(queryBuilder, column).append("\"");
             }
-            case SQLITE -> {
-                Arrays.stream(columns).forEach(column -> {
-                    writeColumn(queryBuilder, column).append(" AS \"");
-                    writeColumn(queryBuilder, column).append("\"").append(", ");
-                });
-
-                joins.forEach(join -> {
-                    for (ORMColumn<?, ?> column : join.columns.keySet()) {
-                        String tableName1 = QueryUtils.getTableName(column);
-                        queryBuilder.append(tableName1).append('.').append(column.getName()).append(" AS \"")
-                                .append(tableName1).append('.').append(column.getName()).append("\"").append(", ");
-                    }
-                });
+            queryBuilder.append(", ");
+        }
+
+        for (Join<J> join : joins) {
+            for (ORMColumn<?, ?> column : join.columns.keySet()) {
+                String tableName = QueryUtils.getTableName(column);
+                queryBuilder.append(tableName).append('.').append(column.getName());
+                if (table.getDatabase().getDriver() == ORMDriver.SQLITE) {
+                    queryBuilder.append(" AS \"").append(tableName).append('.').append(column.getName()).append("\"");
+                }
+                queryBuilder.append(", ");
             }
         }
 
@@ -195,7 +259,7 @@ public sealed abstract class AbstractSelectQuery<O extends AbstractSelectQuery<O
         });
 
         if (where != null) {
-            queryBuilder.append(" WHERE ").append(where.build(table));
+            queryBuilder.append(" WHERE ").append(where.build(table, parameters));
         }
 
         if (order != null) {
@@ -221,6 +285,44 @@ public sealed abstract class AbstractSelectQuery<O extends AbstractSelectQuery<O
         return queryBuilder.toString();
     }
 
+    /**
+     * @return positions of the columns in the SELECT list, which is rendered by {@link #getSQLQuery(SQLParameters)}
+     * from the selected columns and then the columns of the joins
+     */
+    @NotNull
+    protected final Map<ORMColumn<?, ?>, Integer> getColumnPositions() {
+        Map<ORMColumn<?, ?>, Integer> positions = new HashMap<>();
+        int position = 1;
+
+        for (String column : columns) {
+            ORMColumn<T, ?> ormColumn = table.getColumn(column);
+            if (ormColumn != null) {
+                positions.putIfAbsent(ormColumn, position);
+            }
+            position++;
+        }
+
+        for (Join<J> join : joins) {
+            for (ORMColumn<?, ?> column : join.columns.keySet()) {
+                positions.putIfAbsent(column, position++);
+            }
+        }
+
+        return positions;
+    }
+
+    /**
+     * @param positions positions of the columns got from {@link #getColumnPositions()}
+     * @return positions of the table's columns in the SELECT list, 0 for not selected ones
+     * @see ORMTable#objectFrom(ResultSet, int[])
+     */
+    @NotNull
+    protected final int[] getPositions(@NotNull Map<ORMColumn<?, ?>, Integer> positions) {
+        return table.getColumnsStream()
+                .mapToInt(column -> positions.getOrDefault(column, 0))
+                .toArray();
+    }
+
     @NotNull
     protected StringBuilder writeColumn(@NotNull StringBuilder queryBuilder, @NotNull String column) {
         return queryBuilder.append(QueryUtils.getTableName(table)).append('.').append(column);
@@ -237,6 +339,7 @@ public sealed abstract class AbstractSelectQuery<O extends AbstractSelectQuery<O
         to.group = group;
         to.limit = limit;
         to.offset = offset;
+        to.resultCacheTtl = resultCacheTtl;
     }
 
     protected void checkIfColumnsExist(@NotNull String[] columns) {
@@ -3,11 +3,11 @@ package ru.leonidm.ormm.orm.queries.select;
 import org.jetbrains.annotations.NotNull;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
+import ru.leonidm.ormm.orm.queries.QueryStatement;
 import ru.leonidm.ormm.utils.QueryUtils;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.function.Supplier;
 
 public final class AggregateSelectQuery<T, R> extends AbstractSelectQuery<AggregateSelectQuery<T, R>, T, R, R> {
@@ -40,9 +40,9 @@ public final class AggregateSelectQuery<T, R> extends AbstractSelectQuery<Aggreg
         }
 
         return () -> {
-            try (OrmConnection connection = table.getDatabase().getConnection();
-                 Statement statement = connection.createStatement();
-                 ResultSet resultSet = statement.executeQuery(getSQLQuery())) {
+            try (OrmConnection connection = getConnection();
+                 QueryStatement statement = createStatement(connection);
+                 ResultSet resultSet = statement.executeQuery()) {
 
                 if (resultSet.next()) {
                     StringBuilder stringBuilder = new StringBuilder();
@@ -0,0 +1,150 @@
+package ru.leonidm.ormm.orm.queries.select;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.ORMColumn;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.cache.EntityCache;
+import ru.leonidm.ormm.orm.clauses.Where;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads objects referenced by foreign keys of many rows at once: keys are gathered while rows are read,
+ * then every referenced table is queried once per chunk of keys instead of once per row
+ */
+class ForeignKeysLoader<T> {
+
+    /**
+     * @param positions positions of the table's columns in the result set
+     * @return loader or null if the table doesn't have selected foreign keys
+     */
+    @Nullable
+    static <T> ForeignKeysLoader<T> of(@NotNull ORMTable<T> table, @NotNull int[] positions) {
+        List<ORMColumn<T, ?>> columns = table.getColumnsStream().toList();
+
+        List<ORMColumn<T, ?>> foreignColumns = new ArrayList<>();
+        List<Integer> foreignPositions = new ArrayList<>();
+        int[] otherPositions = positions.clone();
+
+        for (int i = 0; i < columns.size(); i++) {
+            ORMColumn<T, ?> column = columns.get(i);
+            if (column.getMeta().foreignKey() && !column.isLazyReference() && positions[i] > 0) {
+                foreignColumns.add(column);
+                foreignPositions.add(positions[i]);
+                otherPositions[i] = 0;
+            }
+        }
+
+        if (foreignColumns.isEmpty()) {
+            return null;
+        }
+
+        return new ForeignKeysLoader<>(table, foreignColumns.toArray(ORMColumn[]::new),
+                foreignPositions.stream().mapToInt(Integer::intValue).toArray(), otherPositions);
+    }
+
+    private final ORMTable<T> table;
+    private final ORMColumn<T, ?>[] columns;
+    private final int[] positions;
+    private final int[] otherPositions;
+    private final List<T> objects = new ArrayList<>();
+    private final List<Object[]> keys = new ArrayList<>();
+
+    private ForeignKeysLoader(@NotNull ORMTable<T> table, @NotNull ORMColumn<T, ?>[] columns,
+                              @NotNull int[] positions, @NotNull int[] otherPositions) {
+        this.table = table;
+        this.columns = columns;
+        this.positions = positions;
+        this.otherPositions = otherPositions;
+    }
+
+    /**
+     * @return positions of the table's columns without foreign keys, which are set by {@link #load()}
+     */
+    @NotNull
+    public int[] getOtherPositions() {
+        return otherPositions;
+    }
+
+    public void save(@NotNull ResultSet resultSet, @NotNull T t) throws SQLException {
+        Object[] rowKeys = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            Object databaseObject = resultSet.getObject(positions[i]);
+            rowKeys[i] = databaseObject != null ? columns[i].getJoinColumn().toFieldObject(databaseObject) : null;
+        }
+
+        objects.add(t);
+        keys.add(rowKeys);
+    }
+
+    /**
+     * Loads referenced objects and sets them to the saved objects
+     *
+     * @param useCache false if referenced objects mustn't be got from the entity caches
+     */
+    public void load(boolean useCache) {
+        int batchSize = table.getDatabase().getSettings().getBatchSize();
+
+        for (int i = 0; i < columns.length; i++) {
+            ORMColumn<?, ?> joinColumn = columns[i].getJoinColumn();
+
+            Set<Object> columnKeys = new LinkedHashSet<>();
+            for (Object[] rowKeys : keys) {
+                if (rowKeys[i] != null) {
+                    columnKeys.add(rowKeys[i]);
+                }
+            }
+
+            Map<Object, Object> referenced = load(joinColumn.getTable(), joinColumn, columnKeys, batchSize, useCache);
+
+            for (int j = 0; j < objects.size(); j++) {
+                Object key = keys.get(j)[i];
+                if (key != null) {
+                    columns[i].setValue(objects.get(j), referenced.get(key));
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static <J> Map<Object, Object> load(@NotNull ORMTable<J> joinTable, @NotNull ORMColumn<?, ?> joinColumn,
+                                                @NotNull Set<Object> keys, int batchSize, boolean useCache) {
+        Map<Object, Object> referenced = new HashMap<>();
+
+        List<Object> toSelect = new ArrayList<>();
+        EntityCache<J> cache = useCache ? joinTable.getCache() : null;
+        for (Object key : keys) {
+            J cached = cache != null ? cache.get(key) : null;
+            if (cached != null) {
+                referenced.put(key, cached);
+            } else {
+                toSelect.add(key);
+            }
+        }
+
+        for (int from = 0; from < toSelect.size(); from += batchSize) {
+            Object[] chunk = toSelect.subList(from, Math.min(from + batchSize, toSelect.size())).toArray();
+
+            List<J> selected = joinTable.selectQuery()
+                    .where(Where.in(joinColumn.getName(), chunk))
+                    .complete();
+            if (selected == null) {
+                throw new IllegalStateException("Can't load objects referenced by %s".formatted(joinColumn.getIdentifier()));
+            }
+
+            for (J j : selected) {
+                referenced.put(joinColumn.getValue(j), j);
+            }
+        }
+
+        return referenced;
+    }
+}
@@ -1,11 +1,9 @@
 package ru.leonidm.ormm.orm.queries.select;
 
-import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMTable;
-import ru.leonidm.ormm.utils.QueryUtils;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -16,15 +14,35 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-@RequiredArgsConstructor
 class JoinsHandler<T, J> {
 
-    private final ORMTable<T> table;
     private final List<AbstractSelectQuery.Join<J>> joins;
+    private final int keyPosition;
+    private final JoinedColumn<J>[] joinedColumns;
     private final Map<Object, J> keyToJ = new LinkedHashMap<>();
     private final Map<Object, Map<AbstractSelectQuery.JoinMeta<J>, List<Object>>> keyToObjects = new LinkedHashMap<>();
     private int nextId = 0;
 
+    /**
+     * @param positions positions of the columns in the result set, columns that aren't there aren't selected
+     */
+    public JoinsHandler(@NotNull ORMTable<T> table, @NotNull List<AbstractSelectQuery.Join<J>> joins,
+                        @NotNull Map<ORMColumn<?, ?>, Integer> positions) {
+        this.joins = joins;
+
+        ORMColumn<T, ?> keyColumn = table.getKeyColumn();
+        this.keyPosition = keyColumn != null && !joins.isEmpty() ? positions.getOrDefault(keyColumn, 0) : 0;
+
+        List<JoinedColumn<J>> joinedColumns = new ArrayList<>();
+        for (AbstractSelectQuery.Join<J> join : joins) {
+            for (var entry : join.getColumns().entrySet()) {
+                joinedColumns.add(new JoinedColumn<>(entry.getKey(), entry.getValue(), positions.getOrDefault(entry.getKey(), 0)));
+            }
+        }
+
+        this.joinedColumns = joinedColumns.toArray(JoinedColumn[]::new);
+    }
+
     public void save(@NotNull ResultSet resultSet, @NotNull J j) throws SQLException {
         if (joins.isEmpty()) {
             keyToJ.put(nextId++, j);
@@ -32,24 +50,18 @@ class JoinsHandler<T, J> {
         }
 
         // TODO: add support for cases when select is raw
-        ORMColumn<T, ?> keyColumn = table.getKeyColumn();
-        Object key = keyColumn != null ? resultSet.getObject(QueryUtils.getColumnName(keyColumn)) : nextId++;
+        Object key = keyPosition > 0 ? resultSet.getObject(keyPosition) : nextId++;
 
         keyToJ.putIfAbsent(key, j);
         var map = keyToObjects.computeIfAbsent(key, k -> new LinkedHashMap<>());
 
-        for (AbstractSelectQuery.Join<J> join : joins) {
-            for (var entry : join.getColumns().entrySet()) {
-                ORMColumn<?, ?> column = entry.getKey();
-                AbstractSelectQuery.JoinMeta<J> joinMeta = entry.getValue();
-
-                var list = map.computeIfAbsent(joinMeta, k -> new ArrayList<>());
+        for (JoinedColumn<J> joinedColumn : joinedColumns) {
+            var list = map.computeIfAbsent(joinedColumn.meta(), k -> new ArrayList<>());
 
-                Object databaseObject = resultSet.getObject(QueryUtils.getColumnName(column));
-                Object object = column.toFieldObject(databaseObject);
+            Object databaseObject = resultSet.getObject(joinedColumn.position());
+            Object object = joinedColumn.column().toFieldObject(databaseObject);
 
-                list.add(object);
-            }
+            list.add(object);
         }
     }
 
@@ -58,12 +70,11 @@ class JoinsHandler<T, J> {
             return true;
         }
 
-        ORMColumn<T, ?> keyColumn = table.getKeyColumn();
-        if (keyColumn == null) {
+        if (keyPosition == 0) {
             return false;
         }
 
-        Object key = resultSet.getObject(QueryUtils.getColumnName(keyColumn));
+        Object key = resultSet.getObject(keyPosition);
         return keyToJ.containsKey(key);
     }
 
@@ -99,4 +110,14 @@ class JoinsHandler<T, J> {
     public Collection<J> getObjects() {
         return Collections.unmodifiableCollection(keyToJ.values());
     }
+
+    private record JoinedColumn<J>(@NotNull ORMColumn<?, ?> column, @NotNull AbstractSelectQuery.JoinMeta<J> meta,
+                                   int position) {
+
+        private JoinedColumn {
+            if (position == 0) {
+                throw new IllegalStateException("Joined column %s isn't selected".formatted(column.getName()));
+            }
+        }
+    }
 }
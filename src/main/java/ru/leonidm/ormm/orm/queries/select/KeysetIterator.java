@@ -0,0 +1,66 @@
+package ru.leonidm.ormm.orm.queries.select;
+
+import org.jetbrains.annotations.NotNull;
+import ru.leonidm.ormm.orm.ORMColumn;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Walks the table page by page using {@code WHERE key > lastSeen ORDER BY key LIMIT n}, so every page
+ * costs the same regardless of how far it is from the beginning. Each page is a separate query
+ */
+public final class KeysetIterator<T> implements Iterator<List<T>> {
+
+    private final ORMColumn<T, ?> column;
+    private final int pageSize;
+    private final Function<Object, List<T>> pageLoader;
+    private List<T> next;
+    private Object lastKey;
+    private boolean finished = false;
+
+    KeysetIterator(@NotNull ORMColumn<T, ?> column, int pageSize, @NotNull Function<Object, List<T>> pageLoader) {
+        this.column = column;
+        this.pageSize = pageSize;
+        this.pageLoader = pageLoader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+
+        if (finished) {
+            return false;
+        }
+
+        List<T> page = pageLoader.apply(lastKey);
+        if (page == null || page.isEmpty()) {
+            finished = true;
+            return false;
+        }
+
+        if (page.size() < pageSize) {
+            finished = true;
+        }
+
+        lastKey = column.getValue(page.get(page.size() - 1));
+        next = page;
+        return true;
+    }
+
+    @Override
+    @NotNull
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        List<T> page = next;
+        next = null;
+        return page;
+    }
+}
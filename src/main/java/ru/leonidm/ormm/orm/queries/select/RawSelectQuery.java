@@ -4,10 +4,10 @@ import org.jetbrains.annotations.NotNull;
 import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
+import ru.leonidm.ormm.orm.queries.QueryStatement;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -24,18 +24,22 @@ public final class RawSelectQuery<T> extends AbstractSelectQuery<RawSelectQuery<
     protected Supplier<List<List<Object>>> prepareSupplier() {
         return () -> {
 
-            try (OrmConnection connection = table.getDatabase().getConnection();
-                 Statement statement = connection.createStatement();
-                 ResultSet resultSet = statement.executeQuery(getSQLQuery())) {
+            try (OrmConnection connection = getConnection();
+                 QueryStatement statement = createStatement(connection);
+                 ResultSet resultSet = statement.executeQuery()) {
 
-                JoinsHandler<T, List<Object>> joinsHandler = new JoinsHandler<>(table, joins);
+                JoinsHandler<T, List<Object>> joinsHandler = new JoinsHandler<>(table, joins, getColumnPositions());
+
+                ORMColumn<T, ?>[] ormColumns = new ORMColumn[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    ormColumns[i] = Objects.requireNonNull(table.getColumn(columns[i]));
+                }
 
                 while (resultSet.next()) {
                     List<Object> objectsList = new ArrayList<>(columns.length);
 
-                    for (int i = 0; i < columns.length; i++) {
-                        ORMColumn<T, ?> column = Objects.requireNonNull(table.getColumn(columns[i]));
-                        objectsList.add(column.toFieldObject(resultSet.getObject(i + 1)));
+                    for (int i = 0; i < ormColumns.length; i++) {
+                        objectsList.add(ormColumns[i].toFieldObject(resultSet.getObject(i + 1)));
                     }
 
                     if (limit > 0 && !joinsHandler.contains(resultSet) && joinsHandler.getObjects().size() >= limit) {
@@ -4,10 +4,10 @@ import org.jetbrains.annotations.NotNull;
 import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
+import ru.leonidm.ormm.orm.queries.QueryStatement;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -29,12 +29,12 @@ public final class RawSingleSelectQuery<T> extends AbstractSelectQuery<RawSingle
     @NotNull
     protected Supplier<List<Object>> prepareSupplier() {
         return () -> {
-            try (OrmConnection connection = table.getDatabase().getConnection();
-                 Statement statement = connection.createStatement();
-                 ResultSet resultSet = statement.executeQuery(getSQLQuery())) {
+            try (OrmConnection connection = getConnection();
+                 QueryStatement statement = createStatement(connection);
+                 ResultSet resultSet = statement.executeQuery()) {
 
                 List<Object> objectsList = null;
-                JoinsHandler<T, List<Object>> joinsHandler = new JoinsHandler<>(table, joins);
+                JoinsHandler<T, List<Object>> joinsHandler = new JoinsHandler<>(table, joins, getColumnPositions());
 
                 while (resultSet.next()) {
                     if (objectsList == null) {
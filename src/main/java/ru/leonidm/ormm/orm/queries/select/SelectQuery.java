@@ -1,50 +1,255 @@
 package ru.leonidm.ormm.orm.queries.select;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import ru.leonidm.ormm.orm.ORMColumn;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.ORMDriver;
 import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.cache.EntityCache;
+import ru.leonidm.ormm.orm.clauses.Order;
+import ru.leonidm.ormm.orm.clauses.Where;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
+import ru.leonidm.ormm.orm.queries.QueryStatement;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class SelectQuery<T> extends AbstractSelectQuery<SelectQuery<T>, T, List<T>, T> {
 
+    private int fetchSize;
+
     public SelectQuery(@NotNull ORMTable<T> table) {
         super(table);
+
+        this.fetchSize = table.getDatabase().getSettings().getFetchSize();
+    }
+
+    /**
+     * Count of rows that are fetched from the database at once by {@link #stream()}. MySQL uses it only
+     * with {@code useCursorFetch=true} in connection parameters, otherwise rows are streamed one by one
+     */
+    @NotNull
+    public SelectQuery<T> fetchSize(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Executes the query in the current thread and maps rows lazily while the stream is consumed.
+     * Connection is held until the stream is closed, so it must be used in try-with-resources.
+     * Tables with foreign keys that aren't {@link ru.leonidm.ormm.orm.references.Ref} can't be streamed,
+     * because referenced objects would be selected while the connection is busy
+     */
+    @NotNull
+    public Stream<T> stream() {
+        if (!joins.isEmpty()) {
+            throw new IllegalStateException("Joins cannot be used in the streaming queries");
+        }
+
+        if (table.getColumnsStream().anyMatch(column -> column.getMeta().foreignKey() && !column.isLazyReference())) {
+            throw new IllegalStateException("Foreign keys that aren't Ref cannot be used in the streaming queries");
+        }
+
+        ORMDatabase database = table.getDatabase();
+        if (database.getSettings().isLogQueries()) {
+            // TODO: normal logger
+            System.out.println("[ORMM] " + getSQLQuery());
+        }
+
+        OrmConnection connection = null;
+        QueryStatement statement = null;
+        ResultSet resultSet;
+
+        try {
+            connection = getConnection();
+            statement = createStatement(connection);
+            statement.setFetchSize(getStreamFetchSize());
+            resultSet = statement.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            close(connection, statement, null);
+
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException(e);
+        }
+
+        int[] positions = getPositions(getColumnPositions());
+        OrmConnection finalConnection = connection;
+        QueryStatement finalStatement = statement;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+
+                    action.accept(table.objectFrom(resultSet, positions));
+                    return true;
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> close(finalConnection, finalStatement, resultSet));
+    }
+
+    public void forEach(@NotNull Consumer<? super T> consumer) {
+        try (Stream<T> stream = stream()) {
+            stream.forEach(consumer);
+        }
+    }
+
+    private int getStreamFetchSize() {
+        ORMDatabase database = table.getDatabase();
+        if (database.getDriver() == ORMDriver.MYSQL
+                && !database.getSettings().getConnectionParameters().contains("useCursorFetch=true")) {
+            // Connector/J streams the result set row by row only with this fetch size
+            return Integer.MIN_VALUE;
+        }
+
+        return fetchSize;
+    }
+
+    private static void close(@Nullable OrmConnection connection, @Nullable QueryStatement statement,
+                              @Nullable ResultSet resultSet) {
+        try (connection; statement; resultSet) {
+            // Closed in reverse order
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     @Override
     @NotNull
     protected Supplier<List<T>> prepareSupplier() {
         return () -> {
-            try (OrmConnection connection = table.getDatabase().getConnection();
-                 Statement statement = connection.createStatement();
-                 ResultSet resultSet = statement.executeQuery(getSQLQuery())) {
+            List<T> result;
+            ForeignKeysLoader<T> foreignKeysLoader;
 
-                JoinsHandler<T, T> joinsHandler = new JoinsHandler<>(table, joins);
+            try (OrmConnection connection = getConnection();
+                 QueryStatement statement = createStatement(connection);
+                 ResultSet resultSet = statement.executeQuery()) {
+
+                Map<ORMColumn<?, ?>, Integer> columnPositions = getColumnPositions();
+                int[] positions = getPositions(columnPositions);
+                foreignKeysLoader = ForeignKeysLoader.of(table, positions);
+                if (foreignKeysLoader != null) {
+                    positions = foreignKeysLoader.getOtherPositions();
+                }
+
+                JoinsHandler<T, T> joinsHandler = new JoinsHandler<>(table, joins, columnPositions);
 
                 while (resultSet.next()) {
-                    T t = table.objectFrom(resultSet);
+                    T t = table.objectFrom(resultSet, positions);
 
                     if (limit > 0 && !joinsHandler.contains(resultSet) && joinsHandler.getObjects().size() >= limit) {
                         break;
                     }
 
                     joinsHandler.save(resultSet, t);
+
+                    if (foreignKeysLoader != null) {
+                        foreignKeysLoader.save(resultSet, t);
+                    }
                 }
 
                 joinsHandler.apply();
-                return List.copyOf(joinsHandler.getObjects());
+
+                result = List.copyOf(joinsHandler.getObjects());
             } catch (SQLException e) {
                 throw new IllegalStateException(e);
             }
+
+            // Referenced objects are loaded after the connection is released
+            if (foreignKeysLoader != null) {
+                foreignKeysLoader.load(getTransaction() == null);
+            }
+
+            EntityCache<T> cache = getReadCache();
+            if (cache != null) {
+                result.forEach(cache::put);
+            }
+
+            return result;
         };
     }
 
+    /**
+     * @see #pages(String, int)
+     */
+    @NotNull
+    public KeysetIterator<T> pages(int pageSize) {
+        ORMColumn<T, ?> keyColumn = table.getKeyColumn();
+        if (keyColumn == null) {
+            throw new IllegalStateException("Pages without column can be used only in the tables with the primary key");
+        }
+
+        return pages(keyColumn.getName(), pageSize);
+    }
+
+    /**
+     * Splits the result into pages ordered by the given primary key or unique column. Rows with null
+     * in this column are skipped. Unlike {@link #offset(int)}, the database doesn't scan previous pages
+     */
+    @NotNull
+    public KeysetIterator<T> pages(@NotNull String column, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        if (!joins.isEmpty() || order != null || group != null || limit > 0 || offset > 0) {
+            throw new IllegalStateException("Joins, order, group, limit and offset cannot be used in the pages");
+        }
+
+        ORMColumn<T, ?> ormColumn = table.getColumn(column);
+        if (ormColumn == null) {
+            throw new IllegalArgumentException(table.getIdentifier() + " Cannot find column " + column);
+        }
+
+        if (!ormColumn.getMeta().primaryKey() && !ormColumn.getMeta().unique()) {
+            throw new IllegalArgumentException(table.getIdentifier() + " Column " + column + " must be primary key or unique");
+        }
+
+        Where baseWhere = ormColumn.getMeta().primaryKey() ? where
+                : where == null ? Where.isNotNull(column) : Where.and(where, Where.isNotNull(column));
+
+        return new KeysetIterator<>(ormColumn, pageSize, lastKey -> {
+            SelectQuery<T> page = new SelectQuery<>(table);
+            copyTo(page);
+
+            if (lastKey == null) {
+                page.where = baseWhere;
+            } else {
+                Where keyWhere = Where.compare(column, ">", lastKey);
+                page.where = baseWhere == null ? keyWhere : Where.and(baseWhere, keyWhere);
+            }
+
+            page.order = Order.asc(column);
+            page.limit = pageSize;
+
+            return page.complete();
+        });
+    }
+
     @NotNull
     public SingleSelectQuery<T> single() {
         SingleSelectQuery<T> singleSelectQuery = new SingleSelectQuery<>(table);
@@ -1,12 +1,15 @@
 package ru.leonidm.ormm.orm.queries.select;
 
 import org.jetbrains.annotations.NotNull;
+import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.cache.EntityCache;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
+import ru.leonidm.ormm.orm.queries.QueryStatement;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.Map;
 import java.util.function.Supplier;
 
 public final class SingleSelectQuery<T> extends AbstractSelectQuery<SingleSelectQuery<T>, T, T, T> {
@@ -25,16 +28,27 @@ public final class SingleSelectQuery<T> extends AbstractSelectQuery<SingleSelect
     @NotNull
     protected Supplier<T> prepareSupplier() {
         return () -> {
-            try (OrmConnection connection = table.getDatabase().getConnection();
-                 Statement statement = connection.createStatement();
-                 ResultSet resultSet = statement.executeQuery(getSQLQuery())) {
+            EntityCache<T> cache = getReadCache();
+            Object key = cache != null && joins.isEmpty() && where != null && offset == 0 ? where.getKeyValue(table) : null;
+            if (key != null) {
+                T cached = cache.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            try (OrmConnection connection = getConnection();
+                 QueryStatement statement = createStatement(connection);
+                 ResultSet resultSet = statement.executeQuery()) {
 
                 T t = null;
-                JoinsHandler<T, T> joinsHandler = new JoinsHandler<>(table, joins);
+                Map<ORMColumn<?, ?>, Integer> columnPositions = getColumnPositions();
+                int[] positions = getPositions(columnPositions);
+                JoinsHandler<T, T> joinsHandler = new JoinsHandler<>(table, joins, columnPositions);
 
                 while (resultSet.next()) {
                     if (t == null) {
-                        t = table.objectFrom(resultSet);
+                        t = table.objectFrom(resultSet, positions);
                     }
 
                     if (!joinsHandler.contains(resultSet) && joinsHandler.getObjects().size() > 0) {
@@ -45,6 +59,11 @@ public final class SingleSelectQuery<T> extends AbstractSelectQuery<SingleSelect
                 }
 
                 joinsHandler.apply();
+
+                if (t != null && cache != null) {
+                    cache.put(t);
+                }
+
                 return t;
             } catch (SQLException e) {
                 throw new IllegalStateException(e);
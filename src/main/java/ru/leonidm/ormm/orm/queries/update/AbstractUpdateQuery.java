@@ -6,11 +6,12 @@ import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.clauses.Where;
 import ru.leonidm.ormm.orm.queries.AbstractQuery;
+import ru.leonidm.ormm.orm.thread.ORMPriority;
 
 import java.util.LinkedHashMap;
 
-public sealed abstract class AbstractUpdateQuery<O, T, R> extends AbstractQuery<T, R> permits UpdateQuery,
-                                                                                              UpdateObjectQuery {
+public sealed abstract class AbstractUpdateQuery<O extends AbstractUpdateQuery<O, T, R>, T, R> extends AbstractQuery<T, R>
+        permits UpdateQuery, UpdateObjectQuery {
 
     protected final T object;
     protected final LinkedHashMap<ORMColumn<T, ?>, Object> values = new LinkedHashMap<>();
@@ -29,4 +30,29 @@ public sealed abstract class AbstractUpdateQuery<O, T, R> extends AbstractQuery<
             where = Where.compare(keyColumn.getName(), "=", keyColumn.getValue(object));
         }
     }
+
+    @Override
+    @NotNull
+    public O orderKey(@Nullable Object key) {
+        super.orderKey(key);
+        return (O) this;
+    }
+
+    @Override
+    @NotNull
+    public O priority(@Nullable ORMPriority priority) {
+        super.priority(priority);
+        return (O) this;
+    }
+
+    @Override
+    protected boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    @Nullable
+    protected Object getEntityKey() {
+        return where != null ? where.getKeyValue(table) : null;
+    }
 }
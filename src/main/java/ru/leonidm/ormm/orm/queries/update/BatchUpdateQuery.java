@@ -0,0 +1,187 @@
+package ru.leonidm.ormm.orm.queries.update;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.ORMColumn;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.connection.OrmConnection;
+import ru.leonidm.ormm.orm.queries.AbstractQuery;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
+import ru.leonidm.ormm.orm.thread.ORMPriority;
+import ru.leonidm.ormm.utils.QueryUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Updates many objects by their primary keys in one transaction using JDBC batches.
+ * Result contains update count of every object in the order they were given
+ */
+public final class BatchUpdateQuery<T> extends AbstractQuery<T, int[]> {
+
+    private final List<T> objects;
+    private final ORMColumn<T, ?> keyColumn;
+    private int batchSize;
+
+    public BatchUpdateQuery(@NotNull ORMTable<T> table, @NotNull Collection<T> objects) {
+        super(table);
+
+        keyColumn = table.getKeyColumn();
+        if (keyColumn == null) {
+            throw new IllegalArgumentException("BatchUpdateQuery can be used only in the tables with the primary key");
+        }
+
+        this.objects = List.copyOf(objects);
+        this.batchSize = table.getDatabase().getSettings().getBatchSize();
+    }
+
+    @NotNull
+    public BatchUpdateQuery<T> batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public BatchUpdateQuery<T> orderKey(@Nullable Object key) {
+        super.orderKey(key);
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public BatchUpdateQuery<T> priority(@Nullable ORMPriority priority) {
+        super.priority(priority);
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
+        StringBuilder queryBuilder = new StringBuilder();
+
+        queryBuilder.append("UPDATE ").append(QueryUtils.getTableName(table)).append(" SET");
+
+        getColumns().forEach(column -> {
+            queryBuilder.append(' ');
+
+            switch (table.getDatabase().getDriver()) {
+                case MYSQL -> queryBuilder.append(QueryUtils.getTableName(table)).append('.');
+                case SQLITE -> {
+                }
+            }
+
+            queryBuilder.append(column.getName()).append(" = ?,");
+        });
+
+        queryBuilder.delete(queryBuilder.length() - 1, queryBuilder.length());
+
+        queryBuilder.append(" WHERE ").append(keyColumn.getName()).append(" = ?");
+
+        return queryBuilder.toString();
+    }
+
+    @NotNull
+    private List<ORMColumn<T, ?>> getColumns() {
+        return table.getColumnsStream()
+                .filter(column -> !column.getMeta().primaryKey())
+                .toList();
+    }
+
+    @Override
+    protected boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    @NotNull
+    protected ORMPriority getDefaultPriority() {
+        return ORMPriority.LOW;
+    }
+
+    @Override
+    @NotNull
+    protected Supplier<int[]> prepareSupplier() {
+        return () -> {
+            int[] result = new int[objects.size()];
+            if (objects.isEmpty()) {
+                return result;
+            }
+
+            List<ORMColumn<T, ?>> columns = getColumns();
+            String sql = getSQLQuery();
+
+            try (OrmConnection connection = getConnection()) {
+                boolean ownTransaction = connection.getAutoCommit();
+                if (ownTransaction) {
+                    connection.setAutoCommit(false);
+                }
+
+                try {
+                    update(connection, sql, columns, result);
+
+                    if (ownTransaction) {
+                        connection.commit();
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    if (ownTransaction) {
+                        connection.rollback();
+                    }
+
+                    throw e;
+                } finally {
+                    if (ownTransaction) {
+                        connection.setAutoCommit(true);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+
+            updateCache(cache -> {
+                for (int i = 0; i < result.length; i++) {
+                    if (result[i] != 0) {
+                        cache.put(objects.get(i));
+                    } else {
+                        cache.evictObject(objects.get(i));
+                    }
+                }
+            });
+
+            return result;
+        };
+    }
+
+    private void update(@NotNull OrmConnection connection, @NotNull String sql,
+                        @NotNull List<ORMColumn<T, ?>> columns, int[] result) throws SQLException {
+        PreparedStatement statement = connection.prepareCachedStatement(sql, false);
+        try {
+            for (int from = 0; from < objects.size(); from += batchSize) {
+                int to = Math.min(from + batchSize, objects.size());
+
+                for (T object : objects.subList(from, to)) {
+                    for (int i = 0; i < columns.size(); i++) {
+                        ORMColumn<T, ?> column = columns.get(i);
+                        SQLParameters.bind(statement, i + 1, column.toDatabaseObject(column.getValue(object)));
+                    }
+
+                    SQLParameters.bind(statement, columns.size() + 1, keyColumn.toDatabaseObject(keyColumn.getValue(object)));
+                    statement.addBatch();
+                }
+
+                int[] counts = statement.executeBatch();
+                System.arraycopy(counts, 0, result, from, Math.min(counts.length, to - from));
+            }
+        } finally {
+            statement.clearBatch();
+            connection.releaseStatement(sql, false, statement);
+        }
+    }
+}
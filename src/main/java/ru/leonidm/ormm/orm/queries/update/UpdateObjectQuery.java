@@ -5,11 +5,11 @@ import ru.leonidm.ormm.orm.ORMColumn;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.clauses.Where;
 import ru.leonidm.ormm.orm.connection.OrmConnection;
-import ru.leonidm.ormm.utils.FormatUtils;
+import ru.leonidm.ormm.orm.queries.QueryStatement;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
 import ru.leonidm.ormm.utils.QueryUtils;
 
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.function.Supplier;
 
 public final class UpdateObjectQuery<T> extends AbstractUpdateQuery<UpdateObjectQuery<T>, T, T> {
@@ -27,7 +27,7 @@ public final class UpdateObjectQuery<T> extends AbstractUpdateQuery<UpdateObject
 
     @Override
     @NotNull
-    public String getSQLQuery() {
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
         StringBuilder queryBuilder = new StringBuilder();
 
         queryBuilder.append("UPDATE ").append(QueryUtils.getTableName(table)).append(" SET");
@@ -48,12 +48,12 @@ public final class UpdateObjectQuery<T> extends AbstractUpdateQuery<UpdateObject
             }
 
             queryBuilder.append(column.getName()).append(" = ")
-                    .append(FormatUtils.toStringSQLValue(column.toDatabaseObject(value))).append(",");
+                    .append(parameters.write(column.toDatabaseObject(value))).append(",");
         });
 
         queryBuilder.delete(queryBuilder.length() - 1, queryBuilder.length());
 
-        queryBuilder.append(" WHERE ").append(where.build(table));
+        queryBuilder.append(" WHERE ").append(where.build(table, parameters));
 
         switch (table.getDatabase().getDriver()) {
             case MYSQL -> {
@@ -71,12 +71,16 @@ public final class UpdateObjectQuery<T> extends AbstractUpdateQuery<UpdateObject
     @NotNull
     protected Supplier<T> prepareSupplier() {
         return () -> {
-            try (OrmConnection connection = table.getDatabase().getConnection();
-                 Statement statement = connection.createStatement()) {
-                int updated = statement.executeUpdate(getSQLQuery());
+            try (OrmConnection connection = getConnection();
+                 QueryStatement statement = createStatement(connection)) {
+                int updated = statement.executeUpdate();
+
                 if (updated == 0) {
+                    updateCache(cache -> cache.evictObject(object));
                     return null;
                 }
+
+                updateCache(cache -> cache.put(object));
             } catch (SQLException e) {
                 throw new IllegalStateException(e);
             }
@@ -7,7 +7,7 @@ import ru.leonidm.ormm.orm.ORMDriver;
 import ru.leonidm.ormm.orm.ORMTable;
 import ru.leonidm.ormm.orm.clauses.Where;
 import ru.leonidm.ormm.orm.exceptions.UnsafeQueryException;
-import ru.leonidm.ormm.utils.FormatUtils;
+import ru.leonidm.ormm.orm.queries.SQLParameters;
 import ru.leonidm.ormm.utils.QueryUtils;
 
 import java.util.function.Supplier;
@@ -53,7 +53,7 @@ public final class UpdateQuery<T> extends AbstractUpdateQuery<UpdateQuery<T>, T,
 
     @Override
     @NotNull
-    public String getSQLQuery() {
+    public String getSQLQuery(@NotNull SQLParameters parameters) {
         if (values.isEmpty()) {
             throw new IllegalArgumentException("Got no values to update");
         }
@@ -72,13 +72,13 @@ public final class UpdateQuery<T> extends AbstractUpdateQuery<UpdateQuery<T>, T,
             }
 
             queryBuilder.append(column.getName()).append(" = ")
-                    .append(FormatUtils.toStringSQLValue(column.toDatabaseObject(value))).append(",");
+                    .append(parameters.write(column.toDatabaseObject(value))).append(",");
         });
 
         queryBuilder.delete(queryBuilder.length() - 1, queryBuilder.length());
 
         if (where != null) {
-            queryBuilder.append(" WHERE ").append(where.build(table));
+            queryBuilder.append(" WHERE ").append(where.build(table, parameters));
         } else {
             if (!table.getMeta().allowUnsafeOperations()) {
                 throw new UnsafeQueryException("\"WHERE\" is not specified, so the query is unsafe");
@@ -95,6 +95,13 @@ public final class UpdateQuery<T> extends AbstractUpdateQuery<UpdateQuery<T>, T,
     @Override
     @NotNull
     protected Supplier<Integer> prepareSupplier() {
-        return getUpdateSupplier();
+        Supplier<Integer> supplier = getUpdateSupplier();
+        return () -> {
+            try {
+                return supplier.get();
+            } finally {
+                invalidateCache(where);
+            }
+        };
     }
 }
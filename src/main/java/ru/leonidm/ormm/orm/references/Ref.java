@@ -0,0 +1,130 @@
+package ru.leonidm.ormm.orm.references;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.ORMColumn;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.ORMTransaction;
+import ru.leonidm.ormm.orm.clauses.Where;
+
+import java.util.Objects;
+
+/**
+ * Lazy reference to the row of another table, which can be used as the field's class of {@code @ForeignKey}
+ * column. Only the key is read with the row, referenced object is selected on the first {@link #get()}.
+ * Reference that was read in the transaction is loaded in it while the transaction is running
+ */
+public final class Ref<T> {
+
+    /**
+     * @return reference to the object that is already loaded
+     */
+    @NotNull
+    public static <T> Ref<T> of(@NotNull ORMTable<T> table, @NotNull T object) {
+        Object key = getKeyColumn(table).getValue(object);
+        if (key == null) {
+            throw new IllegalArgumentException("%s Can't reference object with null key".formatted(table.getIdentifier()));
+        }
+
+        return new Ref<>(table, key, object, true);
+    }
+
+    /**
+     * @param key value of the primary key in the field format
+     * @return reference that will be loaded on the first {@link #get()}
+     */
+    @NotNull
+    public static <T> Ref<T> ofKey(@NotNull ORMTable<T> table, @NotNull Object key) {
+        getKeyColumn(table);
+        return new Ref<>(table, key, null, false);
+    }
+
+    @NotNull
+    private static ORMColumn<?, ?> getKeyColumn(@NotNull ORMTable<?> table) {
+        ORMColumn<?, ?> keyColumn = table.getKeyColumn();
+        if (keyColumn == null) {
+            throw new IllegalArgumentException("%s Only tables with the primary key can be referenced"
+                    .formatted(table.getIdentifier()));
+        }
+
+        return keyColumn;
+    }
+
+    private final ORMTable<T> table;
+    private final Object key;
+    private final ORMTransaction transaction;
+    private volatile T object;
+    private volatile boolean loaded;
+
+    private Ref(@NotNull ORMTable<T> table, @NotNull Object key, @Nullable T object, boolean loaded) {
+        this.table = table;
+        this.key = key;
+        this.transaction = table.getDatabase().getCurrentTransaction();
+        this.object = object;
+        this.loaded = loaded;
+    }
+
+    @NotNull
+    public ORMTable<T> getTable() {
+        return table;
+    }
+
+    @NotNull
+    public Object getKey() {
+        return key;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Selects referenced object in the current thread if it isn't loaded yet
+     *
+     * @return referenced object or null if there is no row with such key
+     */
+    @Nullable
+    public T get() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    ORMTransaction transaction = this.transaction != null && this.transaction.isActive()
+                            ? this.transaction : null;
+                    object = table.getDatabase().withTransaction(transaction, () -> table.selectQuery()
+                            .where(Where.compare(getKeyColumn(table).getName(), "=", key))
+                            .single()
+                            .complete());
+                    loaded = true;
+                }
+            }
+        }
+
+        return object;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Ref<?> ref = (Ref<?>) o;
+        return table.equals(ref.table) && key.equals(ref.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, key);
+    }
+
+    @Override
+    public String toString() {
+        return "Ref{" +
+                "table=" + table.getName() +
+                ", key=" + key +
+                ", loaded=" + loaded +
+                '}';
+    }
+}
@@ -3,6 +3,10 @@ package ru.leonidm.ormm.orm.resolvers;
 import org.jetbrains.annotations.NotNull;
 import ru.leonidm.ormm.orm.ORMColumn;
 
+/**
+ * Resolver that is chosen for the column is reused for all objects of the same class, so support of
+ * the types must depend only on the column and the object's class
+ */
 public interface DatabaseResolver {
 
     /**
@@ -7,12 +7,13 @@ import ru.leonidm.ormm.orm.resolvers.builtin.ArrayResolver;
 import ru.leonidm.ormm.orm.resolvers.builtin.EnumResolver;
 import ru.leonidm.ormm.orm.resolvers.builtin.UUIDResolver;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class ORMResolverRegistry {
 
-    private static final Set<DatabaseResolver> ARGUMENT_RESOLVERS = new LinkedHashSet<>();
+    private static final CopyOnWriteArrayList<DatabaseResolver> ARGUMENT_RESOLVERS = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger VERSION = new AtomicInteger();
 
     static {
         ARGUMENT_RESOLVERS.add(new ArrayResolver());
@@ -24,39 +25,94 @@ public final class ORMResolverRegistry {
 
     }
 
+    /**
+     * Can be called concurrently with the queries, resolvers bound to the columns are invalidated
+     */
     public static void addArgumentResolver(@NotNull DatabaseResolver databaseResolver) {
-        ARGUMENT_RESOLVERS.add(databaseResolver);
+        if (ARGUMENT_RESOLVERS.addIfAbsent(databaseResolver)) {
+            VERSION.incrementAndGet();
+        }
+    }
+
+    /**
+     * Can be called concurrently with the queries, resolvers bound to the columns are invalidated
+     */
+    public static void removeArgumentResolver(@NotNull DatabaseResolver databaseResolver) {
+        if (ARGUMENT_RESOLVERS.remove(databaseResolver)) {
+            VERSION.incrementAndGet();
+        }
     }
 
     @Nullable
     public static <T, F> F resolveFromDatabase(@NotNull ORMColumn<T, F> column, @NotNull Object object) throws CannotResolveException {
+        DatabaseResolver databaseResolver = findFromDatabase(column, object);
+        if (databaseResolver == null) {
+            throw new CannotResolveException();
+        }
+
+        return (F) fromDatabase(databaseResolver, column, object);
+    }
+
+    @Nullable
+    public static <T, F> F resolveToDatabase(@NotNull ORMColumn<T, F> column, @NotNull Object object) throws CannotResolveException {
+        DatabaseResolver databaseResolver = findToDatabase(column, object);
+        if (databaseResolver == null) {
+            throw new CannotResolveException();
+        }
+
+        return (F) toDatabase(databaseResolver, column, object);
+    }
+
+    /**
+     * @return version that is changed every time the resolvers are changed
+     */
+    static int getVersion() {
+        return VERSION.get();
+    }
+
+    @Nullable
+    static DatabaseResolver findFromDatabase(@NotNull ORMColumn<?, ?> column, @NotNull Object object) {
         for (DatabaseResolver databaseResolver : ARGUMENT_RESOLVERS) {
             try {
                 if (databaseResolver.supportsFromType(column, object)) {
-                    return (F) databaseResolver.resolveFromDatabase(column, object);
+                    return databaseResolver;
                 }
             } catch (Exception e) {
                 throw new IllegalStateException(e);
             }
         }
 
-        throw new CannotResolveException();
+        return null;
     }
 
     @Nullable
-    public static <T, F> F resolveToDatabase(@NotNull ORMColumn<T, F> column, @NotNull Object object) throws CannotResolveException {
+    static DatabaseResolver findToDatabase(@NotNull ORMColumn<?, ?> column, @NotNull Object object) {
         for (DatabaseResolver databaseResolver : ARGUMENT_RESOLVERS) {
-            try {
-                if (databaseResolver.supportsToType(column, object)) {
-                    return (F) databaseResolver.resolveToDatabase(column, object);
-                }
-            } catch (CannotResolveException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new IllegalStateException(e);
+            if (databaseResolver.supportsToType(column, object)) {
+                return databaseResolver;
             }
         }
 
-        throw new CannotResolveException();
+        return null;
+    }
+
+    static Object fromDatabase(@NotNull DatabaseResolver databaseResolver, @NotNull ORMColumn<?, ?> column,
+                               @NotNull Object object) {
+        try {
+            return databaseResolver.resolveFromDatabase(column, object);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Object toDatabase(@NotNull DatabaseResolver databaseResolver, @NotNull ORMColumn<?, ?> column,
+                             @NotNull Object object) throws CannotResolveException {
+        try {
+            return databaseResolver.resolveToDatabase(column, object);
+        } catch (CannotResolveException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
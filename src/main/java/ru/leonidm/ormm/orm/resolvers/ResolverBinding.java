@@ -0,0 +1,56 @@
+package ru.leonidm.ormm.orm.resolvers;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.ORMColumn;
+
+/**
+ * Resolver bound to one column and one direction of conversion. Registry is scanned only for the first
+ * object of the new class or after the resolvers are changed, other objects are passed to the bound resolver
+ */
+public final class ResolverBinding {
+
+    @NotNull
+    public static ResolverBinding fromDatabase(@NotNull ORMColumn<?, ?> column) {
+        return new ResolverBinding(column, false);
+    }
+
+    @NotNull
+    public static ResolverBinding toDatabase(@NotNull ORMColumn<?, ?> column) {
+        return new ResolverBinding(column, true);
+    }
+
+    private final ORMColumn<?, ?> column;
+    private final boolean toDatabase;
+    private volatile Bound bound;
+
+    private ResolverBinding(@NotNull ORMColumn<?, ?> column, boolean toDatabase) {
+        this.column = column;
+        this.toDatabase = toDatabase;
+    }
+
+    @Nullable
+    public Object resolve(@NotNull Object object) throws CannotResolveException {
+        Bound bound = this.bound;
+        if (bound == null || bound.objectClass != object.getClass() || bound.version != ORMResolverRegistry.getVersion()) {
+            int version = ORMResolverRegistry.getVersion();
+            DatabaseResolver databaseResolver = toDatabase
+                    ? ORMResolverRegistry.findToDatabase(column, object)
+                    : ORMResolverRegistry.findFromDatabase(column, object);
+            if (databaseResolver == null) {
+                throw new CannotResolveException();
+            }
+
+            bound = new Bound(version, object.getClass(), databaseResolver);
+            this.bound = bound;
+        }
+
+        return toDatabase
+                ? ORMResolverRegistry.toDatabase(bound.resolver, column, object)
+                : ORMResolverRegistry.fromDatabase(bound.resolver, column, object);
+    }
+
+    private record Bound(int version, @NotNull Class<?> objectClass, @NotNull DatabaseResolver resolver) {
+
+    }
+}
@@ -0,0 +1,44 @@
+package ru.leonidm.ormm.orm.thread;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executes tasks in the underlying executor, but not more than given count at once. Other tasks wait
+ * for their turn in the executor's threads without timeout, which is cheap for virtual threads
+ */
+public final class BoundedExecutor implements Executor {
+
+    private final Executor executor;
+    private final Semaphore permits;
+
+    public BoundedExecutor(@NotNull Executor executor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit of the executed tasks must be positive");
+        }
+
+        this.executor = executor;
+        this.permits = new Semaphore(limit, true);
+    }
+
+    @Override
+    public void execute(@NotNull Runnable runnable) {
+        executor.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                runnable.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * @return count of the tasks that can be started right now
+     */
+    public int getAvailable() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,147 @@
+package ru.leonidm.ormm.orm.thread;
+
+import org.jetbrains.annotations.NotNull;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.ORMTransaction;
+import ru.leonidm.ormm.orm.connection.OrmConnection;
+
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes mutating tasks in one dedicated thread. Every drained group of tasks is committed in one transaction,
+ * each task runs in its own savepoint, so failure of one task doesn't roll back the others. Results of
+ * the tasks are published only after the commit
+ */
+public final class GroupCommitWriter implements Executor {
+
+    private final ORMDatabase database;
+    private final int maxGroupSize;
+    private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean stopped = false;
+
+    public GroupCommitWriter(@NotNull ORMDatabase database, int maxGroupSize) {
+        if (maxGroupSize <= 0) {
+            throw new IllegalArgumentException("Size of the commit group must be positive");
+        }
+
+        this.database = database;
+        this.maxGroupSize = maxGroupSize;
+        this.thread = new Thread(() -> TaskQueue.runAsWorker(this::loop), "ORMM group commit writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void execute(@NotNull Runnable runnable) {
+        // Task mustn't be added after the loop saw that writer is stopped and its queue is empty
+        synchronized (queue) {
+            if (stopped) {
+                throw new RejectedExecutionException("Writer is already stopped");
+            }
+
+            queue.add(runnable);
+        }
+    }
+
+    /**
+     * Stops the writer after all queued tasks are executed
+     */
+    public void shutdown() {
+        synchronized (queue) {
+            stopped = true;
+        }
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void loop() {
+        List<Runnable> group = new ArrayList<>(maxGroupSize);
+
+        while (!stopped || !queue.isEmpty()) {
+            Runnable first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+
+            if (first == null) {
+                continue;
+            }
+
+            group.add(first);
+            queue.drainTo(group, maxGroupSize - 1);
+            group.replaceAll(TaskQueue::unwrap);
+
+            try {
+                commit(group);
+            } catch (Exception e) {
+                // TODO: normal logger
+                System.err.println("[ORMM] Got exception in the group commit writer");
+                e.printStackTrace();
+            }
+
+            group.clear();
+        }
+    }
+
+    private void commit(@NotNull List<Runnable> group) {
+        try {
+            database.transaction(transaction -> {
+                for (Runnable runnable : group) {
+                    if (runnable instanceof ORMTask<?> task) {
+                        execute(transaction, task);
+                    } else {
+                        runnable.run();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            group.forEach(runnable -> {
+                if (runnable instanceof ORMTask<?> task) {
+                    task.fail(e);
+                }
+            });
+        }
+
+        group.forEach(runnable -> {
+            if (runnable instanceof ORMTask<?> task) {
+                task.publish();
+            }
+        });
+    }
+
+    private void execute(@NotNull ORMTransaction transaction, @NotNull ORMTask<?> task) {
+        try {
+            Savepoint savepoint;
+            try (OrmConnection connection = transaction.getConnection()) {
+                savepoint = connection.setSavepoint();
+            }
+
+            boolean executed = task.execute();
+
+            try (OrmConnection connection = transaction.getConnection()) {
+                if (executed) {
+                    connection.releaseSavepoint(savepoint);
+                } else {
+                    connection.rollback(savepoint);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
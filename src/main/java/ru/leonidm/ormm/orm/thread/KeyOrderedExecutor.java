@@ -0,0 +1,113 @@
+package ru.leonidm.ormm.orm.thread;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Executes tasks with the same key one by one in the order they were submitted, while tasks with different
+ * keys are executed in parallel by the underlying executor. Only the first task of every key occupies
+ * the underlying executor, others wait in the queue of their key
+ */
+public final class KeyOrderedExecutor {
+
+    private final Executor executor;
+    private final Map<Object, ArrayDeque<Task>> queues = new HashMap<>();
+
+    public KeyOrderedExecutor(@NotNull Executor executor) {
+        this.executor = executor;
+    }
+
+    public void execute(@NotNull Object key, @NotNull Runnable runnable) {
+        execute(key, executor, runnable);
+    }
+
+    /**
+     * @param executor executor that runs this task instead of the default one
+     */
+    public void execute(@NotNull Object key, @NotNull Executor executor, @NotNull Runnable runnable) {
+        Task task = new Task(executor, runnable);
+
+        synchronized (queues) {
+            ArrayDeque<Task> queue = queues.get(key);
+            if (queue != null) {
+                queue.add(task);
+                return;
+            }
+
+            queues.put(key, new ArrayDeque<>());
+        }
+
+        submit(key, task);
+    }
+
+    @NotNull
+    public Executor forKey(@NotNull Object key) {
+        return forKey(key, executor);
+    }
+
+    @NotNull
+    public Executor forKey(@NotNull Object key, @NotNull Executor executor) {
+        return runnable -> execute(key, executor, runnable);
+    }
+
+    /**
+     * @return count of the keys that have running or queued tasks
+     */
+    public int getActiveKeys() {
+        synchronized (queues) {
+            return queues.size();
+        }
+    }
+
+    private void submit(@NotNull Object key, @NotNull Task task) {
+        try {
+            task.executor.execute(() -> run(key, task));
+        } catch (RuntimeException e) {
+            // Tasks that were queued after the rejected one mustn't wait for it forever
+            next(key);
+            throw e;
+        }
+    }
+
+    private void run(@NotNull Object key, @NotNull Task task) {
+        try {
+            task.runnable.run();
+        } finally {
+            next(key);
+        }
+    }
+
+    private void next(@NotNull Object key) {
+        while (true) {
+            Task next;
+            synchronized (queues) {
+                ArrayDeque<Task> queue = queues.get(key);
+                next = queue.poll();
+                if (next == null) {
+                    queues.remove(key);
+                    return;
+                }
+            }
+
+            // Task is resubmitted instead of being run in this thread, so other keys aren't starved
+            try {
+                next.executor.execute(() -> run(key, next));
+                return;
+            } catch (RuntimeException e) {
+                // Rejected task is run by this thread, so it isn't lost and tasks after it keep their order
+                try {
+                    next.runnable.run();
+                } catch (RuntimeException e1) {
+                    // Exception is kept by the task, as if it was executed by the executor
+                }
+            }
+        }
+    }
+
+    private record Task(@NotNull Executor executor, @NotNull Runnable runnable) {
+    }
+}
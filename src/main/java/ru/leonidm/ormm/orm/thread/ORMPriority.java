@@ -0,0 +1,31 @@
+package ru.leonidm.ormm.orm.thread;
+
+/**
+ * Lane of the queued tasks. When priority lanes are enabled, free threads take tasks from the lanes
+ * in weighted round-robin: lane with higher weight gets more turns, but every lane gets its turn
+ */
+public enum ORMPriority {
+
+    /**
+     * Default lane of the select queries
+     */
+    HIGH(4),
+    /**
+     * Default lane of the single inserts, updates and deletes
+     */
+    NORMAL(2),
+    /**
+     * Default lane of the batch inserts and updates
+     */
+    LOW(1);
+
+    private final int weight;
+
+    ORMPriority(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.leonidm.ormm.orm.thread;
+
+/**
+ * What happens to the queued task if the task queue of the database is full
+ */
+public enum ORMQueuePolicy {
+
+    /**
+     * Thread that queues the task waits for free place in the queue. Threads of the database that execute
+     * queued tasks don't wait, because they may be the ones that free the queue, and run the task themselves
+     * as with {@link #CALLER_RUNS}
+     */
+    BLOCK,
+    /**
+     * {@link java.util.concurrent.RejectedExecutionException} is thrown by the thread that queues the task
+     */
+    FAIL,
+    /**
+     * Task is executed by the thread that queues it, ignoring its order key and priority
+     */
+    CALLER_RUNS
+
+}
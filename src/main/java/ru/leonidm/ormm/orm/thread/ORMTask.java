@@ -4,9 +4,16 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ru.leonidm.ormm.orm.ORMDatabase;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -14,20 +21,45 @@ import java.util.function.Supplier;
 public final class ORMTask<R> implements Runnable {
 
     private final ORMDatabase database;
+    private final Executor executor;
     private final Supplier<R> supplier;
     private final Consumer<R> consumer;
     private final Exception cause;
     private final List<Runnable> onFinally;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
     private final Lock lock;
-    private final String query;
+    private final Supplier<String> query;
     private volatile boolean initialized = false;
     private volatile boolean done = false;
+    private boolean locked = false;
     private R result;
     private RuntimeException exception;
 
     public ORMTask(@NotNull ORMDatabase database, @NotNull Supplier<R> supplier, @NotNull Consumer<R> consumer,
                    @Nullable Lock lock, @NotNull String query) {
+        this(database, supplier, consumer, lock, query, database.getTaskExecutor());
+    }
+
+    public ORMTask(@NotNull ORMDatabase database, @NotNull Supplier<R> supplier, @NotNull Consumer<R> consumer,
+                   @Nullable Lock lock, @NotNull String query, @NotNull Executor executor) {
+        this(database, supplier, consumer, lock, () -> query, executor);
+    }
+
+    /**
+     * @param query supplier of the query's text, which is called only when the query is logged
+     */
+    public ORMTask(@NotNull ORMDatabase database, @NotNull Supplier<R> supplier, @NotNull Consumer<R> consumer,
+                   @Nullable Lock lock, @NotNull Supplier<String> query) {
+        this(database, supplier, consumer, lock, query, database.getTaskExecutor());
+    }
+
+    /**
+     * @param query supplier of the query's text, which is called only when the query is logged
+     */
+    public ORMTask(@NotNull ORMDatabase database, @NotNull Supplier<R> supplier, @NotNull Consumer<R> consumer,
+                   @Nullable Lock lock, @NotNull Supplier<String> query, @NotNull Executor executor) {
         this.database = database;
+        this.executor = executor;
         this.supplier = supplier;
         this.consumer = consumer;
         this.cause = new Exception();
@@ -42,10 +74,38 @@ public final class ORMTask<R> implements Runnable {
         Arrays.stream(tasks).forEach(ORMTask::complete);
     }
 
+    /**
+     * Waits until the task is done without spinning
+     *
+     * @throws IllegalStateException if task threw an exception
+     */
     @NotNull
     public ORMTask<R> complete() {
-        while (!done) {
-            Thread.onSpinWait();
+        completion.join();
+
+        if (exception != null) {
+            throw exception;
+        }
+
+        return this;
+    }
+
+    /**
+     * Waits until the task is done, but not longer than given timeout
+     *
+     * @throws IllegalStateException if task threw an exception, wasn't done in time or the thread was interrupted
+     */
+    @NotNull
+    public ORMTask<R> complete(@NotNull Duration timeout) {
+        try {
+            completion.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the task", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Task wasn't done in " + timeout, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
         }
 
         if (exception != null) {
@@ -61,47 +121,109 @@ public final class ORMTask<R> implements Runnable {
         }
 
         initialized = true;
-        database.getTaskExecutor().execute(this);
+
+        try {
+            database.getTaskQueue().execute(executor, this);
+        } catch (RejectedExecutionException e) {
+            // Task won't be executed, so waiting threads are released with the exception
+            fail(e);
+            publish();
+            throw e;
+        }
     }
 
     @Override
     public void run() {
-        try {
-            if (lock != null) {
-                lock.lock();
-            }
+        execute();
+        publish();
 
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Acquires the lock and gets the result, but doesn't publish it. Must be followed by {@link #publish()}
+     *
+     * @return true if result was got without exceptions
+     */
+    boolean execute() {
+        if (lock != null) {
+            lock.lock();
+            locked = true;
+        }
+
+        try {
             if (database.getSettings().isLogQueries()) {
                 // TODO: normal logger
-                System.out.println("[ORMM] " + query);
+                System.out.println("[ORMM] " + query.get());
             }
 
             result = supplier.get();
-
-            consumer.accept(result);
-            done = true;
+            return true;
         } catch (Exception e) {
-            Throwable tempE = e;
-            while (tempE.getCause() != null) {
-                tempE = tempE.getCause();
-            }
+            fail(e);
+            return false;
+        }
+    }
 
+    /**
+     * Marks task as failed, even if its result was already got
+     */
+    void fail(@NotNull Exception e) {
+        if (exception != null) {
+            return;
+        }
+
+        Throwable tempE = e;
+        while (tempE.getCause() != null) {
+            tempE = tempE.getCause();
+        }
+
+        try {
             tempE.initCause(cause);
-            done = true;
+        } catch (IllegalStateException ignored) {
+            // Cause was already initialized
+        }
 
-            exception = new IllegalStateException(e);
-            // TODO: normal logger
-            System.err.printf("[ORMM] Got exception at: %s%n", query);
-            throw exception;
+        result = null;
+        exception = new IllegalStateException(e);
+        // TODO: normal logger
+        System.err.printf("[ORMM] Got exception at: %s%n", query.get());
+    }
+
+    /**
+     * Passes the result to the consumer, marks task as done and releases the lock
+     */
+    void publish() {
+        try {
+            if (exception == null) {
+                consumer.accept(result);
+            }
+        } catch (Exception e) {
+            fail(e);
         } finally {
-            if (lock != null) {
+            List<Runnable> runnables;
+            synchronized (onFinally) {
+                done = true;
+                runnables = List.copyOf(onFinally);
+                onFinally.clear();
+            }
+
+            if (locked) {
+                locked = false;
                 lock.unlock();
             }
 
-            onFinally.forEach(Runnable::run);
+            completion.complete(null);
+            runnables.forEach(Runnable::run);
         }
     }
 
+    boolean isFailed() {
+        return exception != null;
+    }
+
     public boolean isDone() {
         return done;
     }
@@ -119,11 +241,26 @@ public final class ORMTask<R> implements Runnable {
         return result;
     }
 
-    public void onFinally(@NotNull Runnable runnable) {
-        onFinally.add(runnable);
+    /**
+     * @return exception thrown by the task or null if task isn't done or finished successfully
+     */
+    @Nullable
+    public RuntimeException getException() {
+        return done ? exception : null;
+    }
 
-        if (result != null || exception != null) {
-            runnable.run();
+    /**
+     * Runs given runnable after the task is done. If it is already done, runnable is run immediately
+     * in the current thread, otherwise in the thread that executes the task
+     */
+    public void onFinally(@NotNull Runnable runnable) {
+        synchronized (onFinally) {
+            if (!done) {
+                onFinally.add(runnable);
+                return;
+            }
         }
+
+        runnable.run();
     }
 }
@@ -0,0 +1,115 @@
+package ru.leonidm.ormm.orm.thread;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps separate queues for every {@link ORMPriority} and runs at most given count of tasks at once
+ * in the underlying executor. Free workers take tasks from the queues in weighted round-robin,
+ * so interactive queries don't wait behind the bulk ones and bulk queries aren't starved
+ */
+public final class PriorityExecutor {
+
+    private static final ORMPriority[] PRIORITIES = ORMPriority.values();
+
+    private final Executor executor;
+    private final int parallelism;
+    private final ArrayDeque<Runnable>[] lanes = new ArrayDeque[PRIORITIES.length];
+    private final int[] credits = new int[PRIORITIES.length];
+    private final Executor[] views = new Executor[PRIORITIES.length];
+    private int workers;
+
+    public PriorityExecutor(@NotNull Executor executor, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+
+        this.executor = executor;
+        this.parallelism = parallelism;
+
+        for (ORMPriority priority : PRIORITIES) {
+            lanes[priority.ordinal()] = new ArrayDeque<>();
+            credits[priority.ordinal()] = priority.getWeight();
+            views[priority.ordinal()] = runnable -> execute(priority, runnable);
+        }
+    }
+
+    public void execute(@NotNull ORMPriority priority, @NotNull Runnable runnable) {
+        synchronized (this) {
+            lanes[priority.ordinal()].add(runnable);
+            if (workers >= parallelism) {
+                return;
+            }
+
+            workers++;
+        }
+
+        try {
+            executor.execute(this::work);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                workers--;
+                lanes[priority.ordinal()].removeLastOccurrence(runnable);
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * @return executor that queues tasks to the lane of given priority
+     */
+    @NotNull
+    public Executor forPriority(@NotNull ORMPriority priority) {
+        return views[priority.ordinal()];
+    }
+
+    /**
+     * @return count of the queued tasks of given priority, which aren't executed yet
+     */
+    public synchronized int getQueueSize(@NotNull ORMPriority priority) {
+        return lanes[priority.ordinal()].size();
+    }
+
+    private void work() {
+        while (true) {
+            Runnable runnable;
+            synchronized (this) {
+                runnable = poll();
+                if (runnable == null) {
+                    workers--;
+                    return;
+                }
+            }
+
+            try {
+                runnable.run();
+            } catch (RuntimeException ignored) {
+                // Exception is already kept and logged by the task, worker must go on with the next one
+            }
+        }
+    }
+
+    @Nullable
+    private Runnable poll() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            for (ORMPriority priority : PRIORITIES) {
+                int lane = priority.ordinal();
+                if (credits[lane] > 0 && !lanes[lane].isEmpty()) {
+                    credits[lane]--;
+                    return lanes[lane].poll();
+                }
+            }
+
+            // Every non-empty lane spent its turns
+            for (ORMPriority priority : PRIORITIES) {
+                credits[priority.ordinal()] = priority.getWeight();
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package ru.leonidm.ormm.orm.thread;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.leonidm.ormm.orm.queries.QueryKey;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical read queries that are executed at the same time: the first caller executes the query
+ * and others wait for its result instead of executing it again. Callers don't attach to the queries that
+ * were started before any change through ORMM, so they always see their own changes
+ */
+public final class SingleFlight {
+
+    private final Map<QueryKey, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @return result of the supplier or result of the identical query that is already being executed
+     */
+    @Nullable
+    public <R> R execute(@NotNull QueryKey key, @NotNull Supplier<R> supplier) {
+        Flight own = new Flight(generation.get(), new CompletableFuture<>());
+
+        while (true) {
+            Flight flight = flights.putIfAbsent(key, own);
+            if (flight == null) {
+                break;
+            }
+
+            if (flight.generation == own.generation) {
+                return (R) join(flight);
+            }
+
+            if (flights.replace(key, flight, own)) {
+                break;
+            }
+        }
+
+        try {
+            R result = supplier.get();
+            own.future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, own);
+        }
+    }
+
+    /**
+     * Prevents callers from attaching to the queries that are being executed now
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * @return count of the queries that are being executed now
+     */
+    public int size() {
+        return flights.size();
+    }
+
+    @Nullable
+    private static Object join(@NotNull Flight flight) {
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw e;
+        }
+    }
+
+    private record Flight(long generation, @NotNull CompletableFuture<Object> future) {
+    }
+}
@@ -0,0 +1,168 @@
+package ru.leonidm.ormm.orm.thread;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts tasks that are queued to the executors of the database, but aren't started yet, and limits their count
+ * according to the {@link ORMQueuePolicy}. Threads that execute queued tasks are never blocked by the queue,
+ * with {@link ORMQueuePolicy#BLOCK} they run the task themselves if the queue is full
+ */
+public final class TaskQueue {
+
+    private static final ThreadLocal<Boolean> WORKER = ThreadLocal.withInitial(() -> false);
+
+    private final int capacity;
+    private final ORMQueuePolicy policy;
+    private final Semaphore permits;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param capacity maximum count of the queued tasks, zero or negative for unbounded queue
+     */
+    public TaskQueue(int capacity, @NotNull ORMQueuePolicy policy) {
+        this.capacity = Math.max(capacity, 0);
+        this.policy = policy;
+        this.permits = capacity > 0 ? new Semaphore(capacity, true) : null;
+    }
+
+    public void execute(@NotNull Executor executor, @NotNull Runnable runnable) {
+        if (!acquire()) {
+            try {
+                runnable.run();
+            } catch (RuntimeException e) {
+                // Exception is kept by the task, as if it was executed by the executor
+            }
+            return;
+        }
+
+        size.incrementAndGet();
+
+        Queued queued = new Queued(runnable);
+        try {
+            executor.execute(queued);
+        } catch (RuntimeException e) {
+            queued.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the place of the queued task in the queue
+     *
+     * @return task that was passed to {@link #execute(Executor, Runnable)} or given runnable if it wasn't queued
+     */
+    @NotNull
+    static Runnable unwrap(@NotNull Runnable runnable) {
+        if (runnable instanceof Queued queued) {
+            queued.release();
+            return queued.runnable;
+        }
+
+        return runnable;
+    }
+
+    /**
+     * Runs given runnable as if it was a queued task, so the queue doesn't block the current thread
+     */
+    static void runAsWorker(@NotNull Runnable runnable) {
+        boolean worker = WORKER.get();
+        WORKER.set(true);
+        try {
+            runnable.run();
+        } finally {
+            WORKER.set(worker);
+        }
+    }
+
+    /**
+     * @return count of the queued tasks that aren't started yet
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return maximum count of the queued tasks or 0 if queue is unbounded
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @NotNull
+    public ORMQueuePolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return false if task must be executed by the caller
+     */
+    private boolean acquire() {
+        if (permits == null) {
+            return true;
+        }
+
+        switch (policy) {
+            case BLOCK -> {
+                if (WORKER.get()) {
+                    // Worker that waits for the queue may be the one that must free it
+                    return permits.tryAcquire();
+                }
+
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for free place in the task queue", e);
+                }
+
+                return true;
+            }
+            case FAIL -> {
+                if (!permits.tryAcquire()) {
+                    throw new RejectedExecutionException("Task queue is full, its capacity is " + capacity);
+                }
+
+                return true;
+            }
+            case CALLER_RUNS -> {
+                return permits.tryAcquire();
+            }
+            default -> throw new IllegalStateException("Unknown policy " + policy);
+        }
+    }
+
+    private void release() {
+        size.decrementAndGet();
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    private final class Queued implements Runnable {
+
+        private final Runnable runnable;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Queued(@NotNull Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            release();
+            runAsWorker(runnable);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                TaskQueue.this.release();
+            }
+        }
+    }
+}
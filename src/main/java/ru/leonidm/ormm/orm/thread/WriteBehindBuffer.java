@@ -0,0 +1,115 @@
+package ru.leonidm.ormm.orm.thread;
+
+import org.jetbrains.annotations.NotNull;
+import ru.leonidm.ormm.orm.ORMColumn;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.queries.update.BatchUpdateQuery;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects updates of the table by primary key, so only the latest object of every key is written.
+ * Objects are written with their state at the moment of the flush
+ */
+public final class WriteBehindBuffer<T> {
+
+    private final ORMTable<T> table;
+    private final ORMColumn<T, ?> keyColumn;
+    private final int maxSize;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private LinkedHashMap<Object, T> pending = new LinkedHashMap<>();
+    private volatile boolean flushScheduled = false;
+
+    public WriteBehindBuffer(@NotNull ORMTable<T> table, int maxSize) {
+        keyColumn = table.getKeyColumn();
+        if (keyColumn == null) {
+            throw new IllegalArgumentException("WriteBehindBuffer can be used only in the tables with the primary key");
+        }
+
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Size of the write-behind buffer must be positive");
+        }
+
+        this.table = table;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Replaces pending update of the object with the same primary key. If buffer is full, flush is queued
+     */
+    public void put(@NotNull T object) {
+        Object key = keyColumn.getValue(object);
+
+        boolean full;
+        synchronized (this) {
+            pending.remove(key);
+            pending.put(key, object);
+            full = pending.size() >= maxSize && !flushScheduled;
+            if (full) {
+                flushScheduled = true;
+            }
+        }
+
+        if (full) {
+            table.getDatabase().getTaskExecutor().execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Writes all pending updates in one transaction. If it fails, updates that weren't replaced
+     * during the flush are returned to the buffer
+     *
+     * @return amount of written objects
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            LinkedHashMap<Object, T> drained;
+            synchronized (this) {
+                flushScheduled = false;
+
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+
+                drained = pending;
+                pending = new LinkedHashMap<>();
+            }
+
+            try {
+                new BatchUpdateQuery<>(table, drained.values()).complete();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    drained.putAll(pending);
+                    pending = drained;
+                }
+
+                throw e;
+            }
+
+            return drained.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // TODO: normal logger
+            System.err.printf("[ORMM] Failed to flush write-behind buffer of %s%n", table.getIdentifier());
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    @NotNull
+    public ORMTable<T> getTable() {
+        return table;
+    }
+}
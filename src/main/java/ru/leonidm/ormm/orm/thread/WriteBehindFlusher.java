@@ -0,0 +1,69 @@
+package ru.leonidm.ormm.orm.thread;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically flushes write-behind buffers of one database. Buffers are also flushed when JVM shuts down
+ */
+public final class WriteBehindFlusher {
+
+    private final long interval;
+    private final List<WriteBehindBuffer<?>> buffers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private final Thread shutdownHook;
+
+    public WriteBehindFlusher(long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval of the write-behind flushes must be positive");
+        }
+
+        this.interval = interval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ORMM write-behind flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.shutdownHook = new Thread(this::flushAll, "ORMM write-behind shutdown");
+
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public void register(@NotNull WriteBehindBuffer<?> buffer) {
+        buffers.add(buffer);
+        scheduler.scheduleWithFixedDelay(buffer::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Flushes all buffers in the current thread
+     */
+    public void flushAll() {
+        buffers.forEach(WriteBehindBuffer::flushQuietly);
+    }
+
+    /**
+     * Stops periodic flushes and flushes all buffers for the last time
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+
+        try {
+            scheduler.awaitTermination(interval, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        flushAll();
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // JVM is already shutting down
+        }
+    }
+}
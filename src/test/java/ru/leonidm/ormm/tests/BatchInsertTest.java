@@ -0,0 +1,102 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Table(value = "batch_insert_test", allowUnsafeOperations = true)
+public class BatchInsertTest {
+
+    @Column
+    @PrimaryKey(autoIncrement = true)
+    private int id;
+
+    @Column(length = 32)
+    private String name;
+
+    @Test
+    public void mysqlBatchInsert() {
+        test(Databases.MYSQL);
+    }
+
+    @Test
+    public void mysqlPreparedBatchInsert() {
+        test(Databases.MYSQL_PREPARED);
+    }
+
+    @Test
+    public void sqliteBatchInsert() {
+        test(Databases.SQLITE);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        database.addTable(BatchInsertTest.class);
+
+        database.deleteQuery(BatchInsertTest.class).complete();
+
+        List<BatchInsertTest> objects = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            BatchInsertTest object = new BatchInsertTest();
+            object.name = "name" + i;
+            objects.add(object);
+        }
+
+        List<BatchInsertTest> inserted = database.insertQuery(BatchInsertTest.class, objects)
+                .batchSize(10)
+                .complete();
+        assertNotNull(inserted);
+        assertEquals(25, inserted.size());
+
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 1; i < inserted.size(); i++) {
+            assertEquals(1, inserted.get(i).id - inserted.get(i - 1).id);
+            assertTrue(ids.add(inserted.get(i).id));
+        }
+
+        BatchInsertTest explicit = new BatchInsertTest();
+        explicit.id = inserted.get(inserted.size() - 1).id + 100;
+        explicit.name = "explicit";
+
+        BatchInsertTest duplicate = new BatchInsertTest();
+        duplicate.id = inserted.get(0).id;
+        duplicate.name = "duplicate";
+
+        List<BatchInsertTest> ignored = database.getTable(BatchInsertTest.class)
+                .insertAll(List.of(explicit, duplicate))
+                .ignore(true)
+                .complete();
+        assertNotNull(ignored);
+        assertEquals(List.of(explicit), ignored);
+
+        BatchInsertTest generated1 = new BatchInsertTest();
+        generated1.name = "generated1";
+
+        BatchInsertTest explicit2 = new BatchInsertTest();
+        explicit2.id = explicit.id + 100;
+        explicit2.name = "explicit2";
+
+        BatchInsertTest generated2 = new BatchInsertTest();
+        generated2.name = "generated2";
+
+        List<BatchInsertTest> mixed = database.getTable(BatchInsertTest.class)
+                .insertAll(List.of(generated1, explicit2, generated2))
+                .complete();
+        assertEquals(List.of(generated1, explicit2, generated2), mixed);
+
+        List<BatchInsertTest> selected = database.selectQuery(BatchInsertTest.class).complete();
+        assertNotNull(selected);
+        assertEquals(29, selected.size());
+    }
+}
@@ -0,0 +1,79 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.clauses.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Table(value = "batch_update_test", allowUnsafeOperations = true)
+public class BatchUpdateTest {
+
+    @Column
+    @PrimaryKey
+    private int id;
+
+    @Column
+    private int value;
+
+    @Test
+    public void mysqlBatchUpdate() {
+        test(Databases.MYSQL);
+    }
+
+    @Test
+    public void sqliteBatchUpdate() {
+        test(Databases.SQLITE);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        database.addTable(BatchUpdateTest.class);
+
+        database.deleteQuery(BatchUpdateTest.class).complete();
+
+        List<BatchUpdateTest> objects = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            BatchUpdateTest object = new BatchUpdateTest();
+            object.id = i;
+            object.value = i;
+            objects.add(object);
+        }
+
+        database.insertQuery(BatchUpdateTest.class, objects).complete();
+
+        objects.forEach(object -> object.value *= 10);
+
+        BatchUpdateTest missing = new BatchUpdateTest();
+        missing.id = 100;
+        objects.add(missing);
+
+        int[] counts = database.updateQuery(BatchUpdateTest.class, objects)
+                .batchSize(5)
+                .complete();
+        assertNotNull(counts);
+
+        int[] expected = new int[13];
+        for (int i = 0; i < 12; i++) {
+            expected[i] = 1;
+        }
+        assertArrayEquals(expected, counts);
+
+        List<BatchUpdateTest> selected = database.selectQuery(BatchUpdateTest.class)
+                .order(Order.asc("id"))
+                .complete();
+        assertNotNull(selected);
+        assertEquals(12, selected.size());
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i * 10, selected.get(i).value);
+        }
+    }
+}
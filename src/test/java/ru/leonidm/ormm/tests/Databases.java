@@ -17,7 +17,10 @@ public final class Databases {
     public static final ORMDatabase MYSQL;
     public static final ORMDatabase MYSQL_POOL;
     public static final ORMDatabase MYSQL_HIKARI;
+    public static final ORMDatabase MYSQL_PREPARED;
     public static final ORMDatabase SQLITE;
+    public static final ORMDatabase SQLITE_PREPARED;
+    public static final ORMDatabase SQLITE_GROUP_COMMIT;
 
     static {
         MYSQL = new ORMDatabase(ORMDriver.MYSQL, ORMSettings.builder()
@@ -66,12 +69,41 @@ public final class Databases {
                 .setConnectionFactoryInitializer(HikariConnectionFactory::new)
                 .build());
 
+        MYSQL_PREPARED = new ORMDatabase(ORMDriver.MYSQL, ORMSettings.builder()
+                .setHost(Objects.requireNonNullElse(System.getenv("mysql.host"), "localhost"))
+                .setPort(Integer.parseInt(Objects.requireNonNullElse(System.getenv("mysql.port"), "3306")))
+                .setDatabaseName(Objects.requireNonNullElse(System.getenv("mysql.databaseName"), "ormm"))
+                .setUser(Objects.requireNonNullElse(System.getenv("mysql.user"), "ormm"))
+                .setPassword(Objects.requireNonNullElse(System.getenv("mysql.host"), "ormm"))
+                .setConnectionParameters("createDatabaseIfNotExist=true&autoReconnect=true&useUnicode=yes&characterEncoding=UTF-8")
+                .setTableNamePrefix("prepared_")
+                .setLogQueries(true)
+                .setPreparedStatements(true)
+                .build());
+
         new File("test.db").delete();
 
         SQLITE = new ORMDatabase(ORMDriver.SQLITE, ORMSettings.builder()
                 .setHost("test.db")
                 .setLogQueries(true)
                 .build());
+
+        new File("test_prepared.db").delete();
+
+        SQLITE_PREPARED = new ORMDatabase(ORMDriver.SQLITE, ORMSettings.builder()
+                .setHost("test_prepared.db")
+                .setLogQueries(true)
+                .setPreparedStatements(true)
+                .build());
+
+        new File("test_group_commit.db").delete();
+
+        SQLITE_GROUP_COMMIT = new ORMDatabase(ORMDriver.SQLITE, ORMSettings.builder()
+                .setHost("test_group_commit.db")
+                .setLogQueries(true)
+                .setThreadPoolSize(4)
+                .setGroupCommit(true)
+                .build());
     }
 
     private Databases() {
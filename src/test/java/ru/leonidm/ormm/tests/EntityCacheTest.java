@@ -0,0 +1,104 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.cache.EntityCache;
+import ru.leonidm.ormm.orm.clauses.Where;
+
+@Table(value = "entity_cache_test", allowUnsafeOperations = true, cacheSize = 2)
+public class EntityCacheTest {
+
+    @Column
+    @PrimaryKey
+    private int id;
+
+    @Column
+    private int value;
+
+    @Test
+    public void mysqlEntityCache() {
+        test(Databases.MYSQL);
+    }
+
+    @Test
+    public void sqliteEntityCache() {
+        test(Databases.SQLITE);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        ORMTable<EntityCacheTest> table = database.addTable(EntityCacheTest.class);
+
+        database.deleteQuery(EntityCacheTest.class).complete();
+
+        EntityCache<EntityCacheTest> cache = table.getCache();
+        assertNotNull(cache);
+        assertEquals(0, cache.size());
+
+        for (int i = 0; i < 3; i++) {
+            table.insertQuery(create(i)).complete();
+        }
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(0));
+
+        EntityCacheTest first = selectById(database, 0);
+        assertNotNull(first);
+        assertSame(first, selectById(database, 0));
+        assertSame(first, cache.get(0));
+
+        database.updateQuery(EntityCacheTest.class)
+                .set("value", 10)
+                .where(Where.compare("id", "=", 0))
+                .complete();
+
+        EntityCacheTest updated = selectById(database, 0);
+        assertNotNull(updated);
+        assertNotSame(first, updated);
+        assertEquals(10, updated.value);
+
+        database.deleteQuery(EntityCacheTest.class)
+                .where(Where.compare("id", "=", 0))
+                .complete();
+        assertNull(cache.get(0));
+        assertNull(selectById(database, 0));
+
+        database.transaction(transaction -> {
+            table.insertQuery(create(5)).complete();
+            assertNull(cache.get(5));
+        });
+        assertNotNull(cache.get(5));
+
+        assertThrows(IllegalStateException.class, () -> database.transaction(transaction -> {
+            table.insertQuery(create(6)).complete();
+            throw new IllegalStateException("Rollback");
+        }));
+        assertNull(cache.get(6));
+    }
+
+    @NotNull
+    private static EntityCacheTest create(int id) {
+        EntityCacheTest object = new EntityCacheTest();
+        object.id = id;
+        object.value = id;
+        return object;
+    }
+
+    private static EntityCacheTest selectById(@NotNull ORMDatabase database, int id) {
+        return database.selectQuery(EntityCacheTest.class)
+                .where(Where.compare("id", "=", id))
+                .single()
+                .complete();
+    }
+}
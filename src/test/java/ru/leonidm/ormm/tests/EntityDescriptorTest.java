@@ -0,0 +1,64 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.clauses.Where;
+
+import java.util.List;
+
+@Table(value = "entity_descriptor_test", allowUnsafeOperations = true)
+public class EntityDescriptorTest {
+
+    @Column
+    @PrimaryKey
+    int id;
+
+    @Column
+    long amount;
+
+    @Column
+    String name;
+
+    @Test
+    public void mysqlEntityDescriptor() {
+        test(Databases.MYSQL);
+    }
+
+    @Test
+    public void sqliteEntityDescriptor() {
+        test(Databases.SQLITE);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        ORMTable<EntityDescriptorTest> table = database.addTable(EntityDescriptorTest.class);
+        assertNotNull(table.getDescriptor());
+
+        database.deleteQuery(EntityDescriptorTest.class).complete();
+
+        EntityDescriptorTest object = new EntityDescriptorTest();
+        object.id = 1;
+        object.amount = 100L;
+        object.name = "first";
+        table.insertQuery(object).complete();
+
+        List<EntityDescriptorTest> selected = table.selectQuery()
+                .where(Where.compare("id", "=", 1))
+                .complete();
+        assertNotNull(selected);
+        assertEquals(1, selected.size());
+        assertEquals(100L, selected.get(0).amount);
+        assertEquals("first", selected.get(0).name);
+
+        assertTrue(table.getColumn("id").getMeta().primaryKey());
+        assertEquals(100L, table.getColumn("amount").getAccessor().getLong(selected.get(0)));
+    }
+}
@@ -0,0 +1,127 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.ForeignKey;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.clauses.Order;
+import ru.leonidm.ormm.orm.clauses.Where;
+import ru.leonidm.ormm.orm.references.Ref;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Table(value = "foreign_key_test", allowUnsafeOperations = true)
+public class ForeignKeyTest {
+
+    @Column
+    @PrimaryKey
+    private int id;
+
+    @Column(databaseClass = int.class)
+    @ForeignKey(table = "foreign_key_owners_test", key = "id")
+    private Owner owner;
+
+    @Column
+    @ForeignKey(table = "foreign_key_owners_test", key = "id")
+    private Ref<Owner> lazyOwner;
+
+    @Test
+    public void mysqlForeignKey() {
+        test(Databases.MYSQL);
+    }
+
+    @Test
+    public void sqliteForeignKey() {
+        test(Databases.SQLITE);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        ORMTable<Owner> ownersTable = database.addTable(Owner.class);
+        ORMTable<ForeignKeyTest> table = database.addTable(ForeignKeyTest.class);
+
+        database.deleteQuery(ForeignKeyTest.class).complete();
+        database.deleteQuery(Owner.class).complete();
+
+        List<Owner> owners = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Owner owner = new Owner();
+            owner.id = i;
+            owner.name = "owner" + i;
+            owners.add(owner);
+        }
+
+        ownersTable.insertAll(owners).complete();
+
+        List<ForeignKeyTest> objects = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ForeignKeyTest object = new ForeignKeyTest();
+            object.id = i;
+            object.owner = i == 29 ? null : owners.get(i % owners.size());
+            object.lazyOwner = i == 29 ? null : Ref.of(ownersTable, owners.get(i % owners.size()));
+            objects.add(object);
+        }
+
+        table.insertAll(objects).complete();
+
+        List<ForeignKeyTest> selected = table.selectQuery()
+                .order(Order.asc("id"))
+                .complete();
+        assertNotNull(selected);
+        assertEquals(30, selected.size());
+
+        for (int i = 0; i < 29; i++) {
+            Owner owner = selected.get(i).owner;
+            assertNotNull(owner);
+            assertEquals(i % owners.size(), owner.id);
+            assertEquals("owner" + owner.id, owner.name);
+            assertSame(owner, selected.get(i % owners.size()).owner);
+
+            Ref<Owner> lazyOwner = selected.get(i).lazyOwner;
+            assertNotNull(lazyOwner);
+            assertFalse(lazyOwner.isLoaded());
+            assertEquals(owner.id, lazyOwner.getKey());
+            assertNotNull(lazyOwner.get());
+            assertTrue(lazyOwner.isLoaded());
+            assertEquals(owner.name, lazyOwner.get().name);
+        }
+
+        assertNull(selected.get(29).owner);
+        assertNull(selected.get(29).lazyOwner);
+
+        ForeignKeyTest byLazyOwner = table.selectQuery()
+                .where(Where.compare("lazy_owner", "=", Ref.of(ownersTable, owners.get(1))))
+                .order(Order.asc("id"))
+                .single()
+                .complete();
+        assertNotNull(byLazyOwner);
+        assertEquals(1, byLazyOwner.id);
+
+        assertThrows(IllegalStateException.class, () -> table.selectQuery().stream());
+        assertEquals(30, table.selectQuery().complete().size());
+    }
+
+    @Table(value = "foreign_key_owners_test", allowUnsafeOperations = true)
+    public static class Owner {
+
+        @Column
+        @PrimaryKey
+        private int id;
+
+        @Column
+        private String name;
+
+    }
+}
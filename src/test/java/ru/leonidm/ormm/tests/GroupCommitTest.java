@@ -0,0 +1,93 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.thread.ORMTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Table(value = "group_commit_test", allowUnsafeOperations = true)
+public class GroupCommitTest {
+
+    @Column
+    @PrimaryKey
+    private int id;
+
+    @Test
+    public void sqliteGroupCommit() {
+        test(Databases.SQLITE_GROUP_COMMIT);
+    }
+
+    @Test
+    public void sqliteFailureInGroup() {
+        testFailureInGroup(Databases.SQLITE_GROUP_COMMIT);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        database.addTable(GroupCommitTest.class);
+
+        database.deleteQuery(GroupCommitTest.class).complete();
+
+        List<ORMTask<GroupCommitTest>> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(database.insertQuery(GroupCommitTest.class)
+                    .value("id", i)
+                    .queue());
+        }
+
+        ORMTask<GroupCommitTest> duplicate = database.insertQuery(GroupCommitTest.class)
+                .value("id", 0)
+                .queue();
+
+        tasks.forEach(ORMTask::complete);
+        assertThrows(IllegalStateException.class, duplicate::complete);
+
+        Long count = database.selectQuery(GroupCommitTest.class).count("id").async().join();
+        assertNotNull(count);
+        assertEquals(200L, count);
+
+        Integer deleted = database.deleteQuery(GroupCommitTest.class).async().join();
+        assertEquals(200, deleted);
+    }
+
+    private void testFailureInGroup(@NotNull ORMDatabase database) {
+        database.addTable(GroupCommitTest.class);
+
+        database.deleteQuery(GroupCommitTest.class).complete();
+
+        List<ORMTask<GroupCommitTest>> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(database.insertQuery(GroupCommitTest.class)
+                    .value("id", i)
+                    .queue());
+        }
+
+        ORMTask<GroupCommitTest> duplicate = database.insertQuery(GroupCommitTest.class)
+                .value("id", 10)
+                .queue();
+
+        for (int i = 50; i < 100; i++) {
+            tasks.add(database.insertQuery(GroupCommitTest.class)
+                    .value("id", i)
+                    .queue());
+        }
+
+        assertThrows(IllegalStateException.class, duplicate::complete);
+        tasks.forEach(task -> assertNull(task.complete().getException()));
+
+        Long count = database.selectQuery(GroupCommitTest.class).count("id").async().join();
+        assertNotNull(count);
+        assertEquals(100L, count);
+        assertEquals(0, database.getTaskQueue().size());
+    }
+}
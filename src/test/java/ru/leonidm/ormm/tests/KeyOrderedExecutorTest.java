@@ -0,0 +1,108 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.orm.thread.KeyOrderedExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class KeyOrderedExecutorTest {
+
+    @Test
+    public void sameKeysInOrder() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool);
+
+        int keys = 3;
+        int tasksPerKey = 50;
+        ConcurrentHashMap<Integer, List<Integer>> executed = new ConcurrentHashMap<>();
+        ConcurrentHashMap<Integer, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(keys * tasksPerKey);
+
+        for (int i = 0; i < tasksPerKey; i++) {
+            for (int key = 0; key < keys; key++) {
+                int finalKey = key;
+                int finalI = i;
+                executor.execute(key, () -> {
+                    int count = running.computeIfAbsent(finalKey, k -> new AtomicInteger()).incrementAndGet();
+                    maxRunning.accumulateAndGet(count, Math::max);
+
+                    executed.computeIfAbsent(finalKey, k -> new ArrayList<>()).add(finalI);
+
+                    running.get(finalKey).decrementAndGet();
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, maxRunning.get());
+        for (int key = 0; key < keys; key++) {
+            List<Integer> list = executed.get(key);
+            assertEquals(tasksPerKey, list.size());
+            for (int i = 0; i < tasksPerKey; i++) {
+                assertEquals(i, list.get(i));
+            }
+        }
+
+        assertEquals(0, executor.getActiveKeys());
+    }
+
+    @Test
+    public void rejectedTasksAreRunByCaller() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        AtomicBoolean reject = new AtomicBoolean();
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(runnable -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("Rejected");
+            }
+
+            pool.execute(runnable);
+        });
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+
+        executor.execute("key", () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            executed.add(0);
+        });
+        executor.execute("key", () -> executed.add(1));
+        executor.execute("key", () -> executed.add(2));
+
+        // Queued tasks are rejected when the first one is done, they must be run anyway
+        reject.set(true);
+        release.countDown();
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(List.of(0, 1, 2), executed);
+        assertEquals(0, executor.getActiveKeys());
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute("key", () -> executed.add(3)));
+        assertEquals(0, executor.getActiveKeys());
+    }
+}
@@ -0,0 +1,79 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.clauses.Where;
+import ru.leonidm.ormm.orm.queries.select.KeysetIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Table(value = "keyset_pagination_test", allowUnsafeOperations = true)
+public class KeysetPaginationTest {
+
+    @Column
+    @PrimaryKey
+    private int id;
+
+    @Column
+    private boolean even;
+
+    @Test
+    public void mysqlKeysetPagination() {
+        test(Databases.MYSQL);
+    }
+
+    @Test
+    public void sqliteKeysetPagination() {
+        test(Databases.SQLITE);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        database.addTable(KeysetPaginationTest.class);
+
+        database.deleteQuery(KeysetPaginationTest.class).complete();
+
+        List<KeysetPaginationTest> objects = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            KeysetPaginationTest object = new KeysetPaginationTest();
+            object.id = i;
+            object.even = i % 2 == 0;
+            objects.add(object);
+        }
+
+        database.insertQuery(KeysetPaginationTest.class, objects).complete();
+
+        KeysetIterator<KeysetPaginationTest> iterator = database.selectQuery(KeysetPaginationTest.class).pages(5);
+
+        List<Integer> sizes = new ArrayList<>();
+        int expectedId = 0;
+        while (iterator.hasNext()) {
+            List<KeysetPaginationTest> page = iterator.next();
+            sizes.add(page.size());
+
+            for (KeysetPaginationTest object : page) {
+                assertEquals(expectedId++, object.id);
+            }
+        }
+
+        assertEquals(List.of(5, 5, 5, 5, 3), sizes);
+        assertFalse(iterator.hasNext());
+
+        int evenCount = 0;
+        iterator = database.selectQuery(KeysetPaginationTest.class)
+                .where(Where.compare("even", "=", true))
+                .pages("id", 4);
+        while (iterator.hasNext()) {
+            evenCount += iterator.next().size();
+        }
+
+        assertEquals(12, evenCount);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.orm.thread.ORMTask;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ORMTaskTest {
+
+    @Test
+    public void completeWithTimeout() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ORMTask<Integer> task = new ORMTask<>(Databases.SQLITE, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }, result -> {}, null, "SELECT 1", runnable -> new Thread(runnable).start());
+        task.start();
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicInteger finallyRuns = new AtomicInteger();
+        task.onFinally(finallyRuns::incrementAndGet);
+
+        assertThrows(IllegalStateException.class, () -> task.complete(Duration.ofMillis(50)));
+        assertEquals(0, finallyRuns.get());
+
+        release.countDown();
+
+        assertEquals(1, task.complete(Duration.ofSeconds(5)).getResult());
+        assertEquals(1, finallyRuns.get());
+
+        task.onFinally(finallyRuns::incrementAndGet);
+        assertEquals(2, finallyRuns.get());
+    }
+
+    @Test
+    public void completeFailed() {
+        ORMTask<Integer> task = new ORMTask<>(Databases.SQLITE, () -> {
+            throw new IllegalArgumentException("Expected");
+        }, result -> {}, null, "SELECT 1", runnable -> new Thread(() -> {
+            try {
+                runnable.run();
+            } catch (IllegalStateException ignored) {
+                // Exception is rethrown by the executing thread
+            }
+        }).start());
+        task.start();
+
+        assertThrows(IllegalStateException.class, task::complete);
+        assertTrue(task.isDone());
+    }
+}
@@ -0,0 +1,99 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.clauses.Where;
+import ru.leonidm.ormm.orm.connection.StatementCacheStats;
+
+import java.util.List;
+
+@Table(value = "prepared_statements_test", allowUnsafeOperations = true)
+public class PreparedStatementsTest {
+
+    @Column
+    @PrimaryKey(autoIncrement = true)
+    private int id;
+
+    @Column(length = 64)
+    private String name;
+
+    @Column
+    private int[] ints;
+
+    @Test
+    public void mysqlPrepared() {
+        test(Databases.MYSQL_PREPARED);
+    }
+
+    @Test
+    public void sqlitePrepared() {
+        test(Databases.SQLITE_PREPARED);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        database.addTable(PreparedStatementsTest.class);
+
+        database.deleteQuery(PreparedStatementsTest.class).complete();
+
+        String name = "It's \"quoted\" ? name";
+        int[] ints = {1, 2, 3, Integer.MAX_VALUE};
+
+        PreparedStatementsTest inserted = database.insertQuery(PreparedStatementsTest.class)
+                .value("name", name)
+                .value("ints", ints)
+                .complete();
+        assertNotNull(inserted);
+
+        PreparedStatementsTest selected = database.selectQuery(PreparedStatementsTest.class)
+                .where(Where.compare("name", "=", name))
+                .single()
+                .complete();
+        assertNotNull(selected);
+        assertEquals(inserted.id, selected.id);
+        assertEquals(name, selected.name);
+        assertArrayEquals(ints, selected.ints);
+
+        selected.name = "renamed";
+        database.updateQuery(PreparedStatementsTest.class, selected).complete();
+
+        List<PreparedStatementsTest> list = database.selectQuery(PreparedStatementsTest.class)
+                .where(Where.in("name", "renamed", name))
+                .complete();
+        assertNotNull(list);
+        assertEquals(1, list.size());
+        assertEquals("renamed", list.get(0).name);
+
+        StatementCacheStats stats = database.getStatementCacheStats();
+        assertNotNull(stats);
+
+        long hits = stats.getHits();
+        for (int i = 0; i < 10; i++) {
+            PreparedStatementsTest byId = database.selectQuery(PreparedStatementsTest.class)
+                    .where(Where.compare("id", "=", inserted.id))
+                    .single()
+                    .complete();
+            assertNotNull(byId);
+        }
+        assertTrue(stats.getHits() - hits >= 9);
+
+        Integer deleted = database.deleteQuery(PreparedStatementsTest.class)
+                .where(Where.compare("id", "=", database.selectQuery(PreparedStatementsTest.class)
+                        .where(Where.compare("name", "=", "renamed"))
+                        .columns("id")
+                        .single()))
+                .complete();
+        assertEquals(1, deleted);
+
+        assertNull(database.selectQuery(PreparedStatementsTest.class).single().complete());
+    }
+}
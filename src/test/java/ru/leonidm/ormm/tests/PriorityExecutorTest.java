@@ -0,0 +1,63 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.orm.thread.ORMPriority;
+import ru.leonidm.ormm.orm.thread.PriorityExecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class PriorityExecutorTest {
+
+    @Test
+    public void highPriorityFirstWithoutStarvation() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        PriorityExecutor executor = new PriorityExecutor(pool, 1);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(ORMPriority.LOW, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<ORMPriority> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(20);
+        for (int i = 0; i < 10; i++) {
+            executor.execute(ORMPriority.LOW, () -> {
+                executed.add(ORMPriority.LOW);
+                done.countDown();
+            });
+        }
+
+        for (int i = 0; i < 10; i++) {
+            executor.execute(ORMPriority.HIGH, () -> {
+                executed.add(ORMPriority.HIGH);
+                done.countDown();
+            });
+        }
+
+        assertEquals(10, executor.getQueueSize(ORMPriority.HIGH));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        assertEquals(List.of(ORMPriority.HIGH, ORMPriority.HIGH, ORMPriority.HIGH, ORMPriority.HIGH),
+                executed.subList(0, 4));
+        assertTrue(executed.indexOf(ORMPriority.LOW) < executed.lastIndexOf(ORMPriority.HIGH));
+    }
+}
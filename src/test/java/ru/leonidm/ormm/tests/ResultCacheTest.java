@@ -0,0 +1,113 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.clauses.Where;
+
+import java.time.Duration;
+import java.util.List;
+
+@Table(value = "result_cache_test", allowUnsafeOperations = true, resultCacheMillis = 60000)
+public class ResultCacheTest {
+
+    @Column
+    @PrimaryKey
+    private int id;
+
+    @Column
+    private int value;
+
+    @Test
+    public void mysqlResultCache() {
+        test(Databases.MYSQL);
+    }
+
+    @Test
+    public void sqliteResultCache() {
+        test(Databases.SQLITE);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        ORMTable<ResultCacheTest> table = database.addTable(ResultCacheTest.class);
+
+        database.deleteQuery(ResultCacheTest.class).complete();
+
+        for (int i = 0; i < 3; i++) {
+            ResultCacheTest object = new ResultCacheTest();
+            object.id = i;
+            object.value = i;
+            table.insertQuery(object).complete();
+        }
+
+        List<ResultCacheTest> first = selectPositive(database);
+        assertEquals(2, first.size());
+        assertSame(first, selectPositive(database));
+
+        List<ResultCacheTest> uncached = database.selectQuery(ResultCacheTest.class)
+                .where(Where.compare("value", ">", 0))
+                .cached(Duration.ZERO)
+                .complete();
+        assertNotSame(first, uncached);
+
+        assertEquals(2L, countPositive(database));
+
+        database.updateQuery(ResultCacheTest.class)
+                .set("value", 10)
+                .where(Where.compare("id", "=", 0))
+                .complete();
+
+        List<ResultCacheTest> updated = selectPositive(database);
+        assertNotSame(first, updated);
+        assertEquals(3, updated.size());
+        assertEquals(3L, countPositive(database));
+
+        database.transaction(transaction -> {
+            database.deleteQuery(ResultCacheTest.class)
+                    .where(Where.compare("id", "=", 1))
+                    .complete();
+
+            assertEquals(2, selectPositive(database).size());
+        });
+
+        assertEquals(2, selectPositive(database).size());
+
+        List<ResultCacheTest> limited = database.selectQuery(ResultCacheTest.class)
+                .where(Where.compare("id", "=", 2))
+                .limit(1)
+                .complete();
+        assertNotNull(limited);
+        assertEquals(1, limited.size());
+
+        ResultCacheTest single = database.selectQuery(ResultCacheTest.class)
+                .where(Where.compare("id", "=", 2))
+                .limit(1)
+                .single()
+                .complete();
+        assertNotNull(single);
+        assertEquals(2, single.id);
+    }
+
+    private static List<ResultCacheTest> selectPositive(@NotNull ORMDatabase database) {
+        return database.selectQuery(ResultCacheTest.class)
+                .where(Where.compare("value", ">", 0))
+                .complete();
+    }
+
+    private static Long countPositive(@NotNull ORMDatabase database) {
+        return database.selectQuery(ResultCacheTest.class)
+                .where(Where.compare("value", ">", 0))
+                .count("id")
+                .cached(Duration.ofMinutes(1))
+                .complete();
+    }
+}
@@ -0,0 +1,117 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.orm.queries.QueryKey;
+import ru.leonidm.ormm.orm.queries.select.SelectQuery;
+import ru.leonidm.ormm.orm.queries.select.SingleSelectQuery;
+import ru.leonidm.ormm.orm.thread.SingleFlight;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTest {
+
+    @Test
+    public void coalesceIdenticalQueries() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        QueryKey key = new QueryKey(SelectQuery.class, "SELECT * FROM users WHERE id = ?", new Object[]{1});
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> singleFlight.execute(key, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return 42;
+        }));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicInteger second = new AtomicInteger();
+        Thread secondThread = new Thread(() -> second.set(singleFlight.execute(
+                new QueryKey(SelectQuery.class, "SELECT * FROM users WHERE id = ?", new Object[]{1}), () -> {
+                    executions.incrementAndGet();
+                    return 0;
+                })));
+        secondThread.start();
+
+        // Second caller must wait for the result of the first one
+        while (secondThread.isAlive() && secondThread.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+
+        release.countDown();
+
+        assertEquals(42, first.get(5, TimeUnit.SECONDS));
+        secondThread.join(5000);
+        assertEquals(42, second.get());
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    public void dontAttachAfterInvalidation() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        QueryKey key = new QueryKey(SelectQuery.class, "SELECT COUNT(*) FROM users", new Object[0]);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> singleFlight.execute(key, () -> {
+            started.countDown();
+            await(release);
+            return 1;
+        }));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        singleFlight.invalidate();
+        assertEquals(2, singleFlight.execute(key, () -> 2));
+
+        release.countDown();
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void dontCoalesceDifferentQueryClasses() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        String sql = "SELECT * FROM users WHERE id = ? LIMIT 1";
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> singleFlight.execute(
+                new QueryKey(SelectQuery.class, sql, new Object[]{1}), () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return (Object) "list";
+                }));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Same SQL of the other query class must be executed on its own
+        assertEquals("single", singleFlight.execute(new QueryKey(SingleSelectQuery.class, sql, new Object[]{1}), () -> {
+            executions.incrementAndGet();
+            return (Object) "single";
+        }));
+
+        release.countDown();
+
+        assertEquals("list", first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, executions.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.clauses.Order;
+import ru.leonidm.ormm.orm.clauses.Where;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Table(value = "stream_test", allowUnsafeOperations = true)
+public class StreamTest {
+
+    @Column
+    @PrimaryKey
+    private int id;
+
+    @Test
+    public void mysqlStream() {
+        test(Databases.MYSQL);
+    }
+
+    @Test
+    public void mysqlPreparedStream() {
+        test(Databases.MYSQL_PREPARED);
+    }
+
+    @Test
+    public void sqliteStream() {
+        test(Databases.SQLITE);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        database.addTable(StreamTest.class);
+
+        database.deleteQuery(StreamTest.class).complete();
+
+        List<StreamTest> objects = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            StreamTest object = new StreamTest();
+            object.id = i;
+            objects.add(object);
+        }
+
+        database.insertQuery(StreamTest.class, objects).complete();
+
+        try (Stream<StreamTest> stream = database.selectQuery(StreamTest.class)
+                .where(Where.compare("id", ">=", 50))
+                .order(Order.asc("id"))
+                .fetchSize(7)
+                .stream()) {
+            assertEquals(IntStream.range(50, 100).boxed().toList(), stream.map(object -> object.id).toList());
+        }
+
+        try (Stream<StreamTest> stream = database.selectQuery(StreamTest.class).stream()) {
+            assertEquals(3, stream.limit(3).count());
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        database.selectQuery(StreamTest.class).forEach(object -> count.incrementAndGet());
+        assertEquals(100, count.get());
+    }
+}
@@ -0,0 +1,119 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.orm.thread.ORMQueuePolicy;
+import ru.leonidm.ormm.orm.thread.TaskQueue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TaskQueueTest {
+
+    @Test
+    public void failWhenFull() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        TaskQueue queue = new TaskQueue(2, ORMQueuePolicy.FAIL);
+        CountDownLatch release = blockPool(pool, queue);
+
+        queue.execute(pool, () -> {});
+        queue.execute(pool, () -> {});
+        assertEquals(2, queue.size());
+
+        assertThrows(RejectedExecutionException.class, () -> queue.execute(pool, () -> {}));
+
+        release.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void callerRunsWhenFull() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        TaskQueue queue = new TaskQueue(1, ORMQueuePolicy.CALLER_RUNS);
+        CountDownLatch release = blockPool(pool, queue);
+
+        queue.execute(pool, () -> {});
+
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        queue.execute(pool, () -> thread.set(Thread.currentThread()));
+        assertEquals(Thread.currentThread(), thread.get());
+
+        release.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void blockWhenFull() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        TaskQueue queue = new TaskQueue(1, ORMQueuePolicy.BLOCK);
+        CountDownLatch release = blockPool(pool, queue);
+
+        queue.execute(pool, () -> {});
+
+        CountDownLatch queued = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            queue.execute(pool, () -> {});
+            queued.countDown();
+        });
+        thread.start();
+
+        assertFalse(queued.await(100, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(queued.await(5, TimeUnit.SECONDS));
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void workerRunsWhenFull() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        TaskQueue queue = new TaskQueue(1, ORMQueuePolicy.BLOCK);
+
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        queue.execute(pool, () -> {
+            worker.set(Thread.currentThread());
+            queue.execute(pool, () -> {});
+            queue.execute(pool, () -> thread.set(Thread.currentThread()));
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(worker.get(), thread.get());
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, queue.size());
+    }
+
+    private static CountDownLatch blockPool(ExecutorService pool, TaskQueue queue) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        queue.execute(pool, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+}
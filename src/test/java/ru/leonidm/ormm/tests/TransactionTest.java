@@ -0,0 +1,147 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.ForeignKey;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.clauses.Order;
+import ru.leonidm.ormm.orm.clauses.Where;
+import ru.leonidm.ormm.orm.references.Ref;
+
+import java.util.List;
+
+@Table(value = "transaction_test", allowUnsafeOperations = true)
+public class TransactionTest {
+
+    @Column
+    @PrimaryKey
+    private int id;
+
+    @Column
+    private int value;
+
+    @Test
+    public void mysqlTransaction() {
+        test(Databases.MYSQL);
+    }
+
+    @Test
+    public void mysqlPoolTransaction() {
+        test(Databases.MYSQL_POOL);
+    }
+
+    @Test
+    public void sqliteTransaction() {
+        test(Databases.SQLITE);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        database.addTable(TransactionTest.class);
+        database.addTable(Child.class);
+
+        database.deleteQuery(Child.class).complete();
+        database.deleteQuery(TransactionTest.class).complete();
+
+        database.transaction(transaction -> {
+            for (int i = 0; i < 10; i++) {
+                database.insertQuery(TransactionTest.class)
+                        .value("id", i)
+                        .value("value", i)
+                        .complete();
+            }
+
+            database.transaction(nested -> assertSame(transaction, nested));
+
+            database.updateQuery(TransactionTest.class)
+                    .set("value", 100)
+                    .where(Where.compare("id", "=", 0))
+                    .queue()
+                    .complete();
+        });
+
+        Long count = database.selectQuery(TransactionTest.class).count("id").complete();
+        assertEquals(10L, count);
+
+        assertThrows(IllegalStateException.class, () -> database.transaction(transaction -> {
+            database.deleteQuery(TransactionTest.class).complete();
+            throw new IllegalStateException("rollback");
+        }));
+
+        TransactionTest first = database.selectQuery(TransactionTest.class)
+                .where(Where.compare("id", "=", 0))
+                .single()
+                .complete();
+        assertNotNull(first);
+        assertEquals(100, first.value);
+
+        Integer deleted = database.transactionResult(transaction -> {
+            transaction.setRollbackOnly();
+            return database.deleteQuery(TransactionTest.class).complete();
+        });
+        assertEquals(10, deleted);
+
+        count = database.selectQuery(TransactionTest.class).count("id").complete();
+        assertEquals(10L, count);
+
+        // Referenced objects are selected in the worker thread and must use the same transaction
+        List<Child> children = database.transactionResult(transaction -> {
+            for (int i = 0; i < 3; i++) {
+                database.insertQuery(Child.class)
+                        .value("id", i)
+                        .value("parent", i)
+                        .value("lazyParent", i)
+                        .complete();
+            }
+
+            List<Child> selected = database.selectQuery(Child.class)
+                    .order(Order.asc("id"))
+                    .queue()
+                    .complete()
+                    .getResult();
+            assertNotNull(selected);
+
+            // Lazy references are loaded in the transaction they were read in
+            for (int i = 0; i < selected.size(); i++) {
+                TransactionTest lazyParent = selected.get(i).lazyParent.get();
+                assertNotNull(lazyParent);
+                assertEquals(i, lazyParent.id);
+            }
+
+            return selected;
+        });
+        assertNotNull(children);
+        assertEquals(3, children.size());
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(children.get(i).parent);
+            assertEquals(i, children.get(i).parent.id);
+        }
+
+        assertNull(database.getCurrentTransaction());
+    }
+
+    @Table(value = "transaction_children_test", allowUnsafeOperations = true)
+    public static class Child {
+
+        @Column
+        @PrimaryKey
+        private int id;
+
+        @Column(databaseClass = int.class)
+        @ForeignKey(table = "transaction_test", key = "id")
+        private TransactionTest parent;
+
+        @Column
+        @ForeignKey(table = "transaction_test", key = "id")
+        private Ref<TransactionTest> lazyParent;
+
+    }
+}
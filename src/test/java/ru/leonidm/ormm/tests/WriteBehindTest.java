@@ -0,0 +1,77 @@
+package ru.leonidm.ormm.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import ru.leonidm.ormm.annotations.Column;
+import ru.leonidm.ormm.annotations.PrimaryKey;
+import ru.leonidm.ormm.annotations.Table;
+import ru.leonidm.ormm.orm.ORMDatabase;
+import ru.leonidm.ormm.orm.ORMTable;
+import ru.leonidm.ormm.orm.clauses.Order;
+import ru.leonidm.ormm.orm.thread.WriteBehindBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Table(value = "write_behind_test", allowUnsafeOperations = true, writeBehind = true)
+public class WriteBehindTest {
+
+    @Column
+    @PrimaryKey
+    private int id;
+
+    @Column
+    private int value;
+
+    @Test
+    public void mysqlWriteBehind() {
+        test(Databases.MYSQL);
+    }
+
+    @Test
+    public void sqliteWriteBehind() {
+        test(Databases.SQLITE);
+    }
+
+    private void test(@NotNull ORMDatabase database) {
+        ORMTable<WriteBehindTest> table = database.addTable(WriteBehindTest.class);
+
+        database.deleteQuery(WriteBehindTest.class).complete();
+
+        List<WriteBehindTest> objects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            WriteBehindTest object = new WriteBehindTest();
+            object.id = i;
+            objects.add(object);
+        }
+
+        table.insertAll(objects).complete();
+
+        WriteBehindBuffer<WriteBehindTest> buffer = table.getWriteBehindBuffer();
+        assertNotNull(buffer);
+
+        for (int i = 1; i <= 100; i++) {
+            for (WriteBehindTest object : objects) {
+                WriteBehindTest copy = new WriteBehindTest();
+                copy.id = object.id;
+                copy.value = i;
+                table.updateLater(copy);
+            }
+        }
+
+        assertEquals(3, buffer.size());
+
+        table.flush();
+        assertEquals(0, buffer.size());
+
+        List<WriteBehindTest> selected = table.selectQuery()
+                .order(Order.asc("id"))
+                .complete();
+        assertNotNull(selected);
+        assertEquals(3, selected.size());
+        selected.forEach(object -> assertEquals(100, object.value));
+    }
+}